@@ -5,11 +5,19 @@ import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.wak.chat.application.chat.dto.ChatHistoryResponse;
 import com.wak.chat.application.chat.dto.ChatRequest;
 import com.wak.chat.application.chat.dto.ChatResponse;
 import com.wak.chat.domain.chat.service.ChatService;
+import com.wak.chat.global.util.ApiResult;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
 import lombok.RequiredArgsConstructor;
 
@@ -35,4 +43,31 @@ public class ChatController {
 		simpMessagingTemplate.convertAndSend("/topic/chats/" + roomId, chatResponse);
 	}
 
+	@Operation(
+		summary = "로비 채팅 기록 조회",
+		description = "before(epoch millis) 이전의 로비 채팅을 최근 size 개까지 오래된 순서로 조회하는 API 입니다. 응답의 nextBefore 로 이전 기록을 이어서 조회합니다.",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "", useReturnTypeSchema = true)
+		}
+	)
+	@GetMapping("/api/chats/lobby/history")
+	public ApiResult<ChatHistoryResponse> lobbyHistory(@RequestParam(value = "before", required = false) Long before,
+		@RequestParam(value = "size", defaultValue = "50") int size) {
+		return new ApiResult<>(true, chatService.getHistory(ChatService.LOBBY, before, size), null);
+	}
+
+	@Operation(
+		summary = "게임 방 채팅 기록 조회",
+		description = "before(epoch millis) 이전의 게임 방 채팅을 최근 size 개까지 오래된 순서로 조회하는 API 입니다. 다시 입장한 클라이언트가 최근 대화를 불러올 때 사용합니다.",
+		responses = {
+			@ApiResponse(responseCode = "200", description = "", useReturnTypeSchema = true)
+		}
+	)
+	@GetMapping("/api/chats/{roomId}/history")
+	public ApiResult<ChatHistoryResponse> roomHistory(@PathVariable("roomId") Long roomId,
+		@RequestParam(value = "before", required = false) Long before,
+		@RequestParam(value = "size", defaultValue = "50") int size) {
+		return new ApiResult<>(true, chatService.getHistory(ChatService.roomKey(roomId), before, size), null);
+	}
+
 }
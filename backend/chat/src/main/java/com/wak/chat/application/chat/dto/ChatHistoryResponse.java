@@ -0,0 +1,10 @@
+package com.wak.chat.application.chat.dto;
+
+import java.util.List;
+
+/**
+ * @param messages   오래된 메시지부터
+ * @param nextBefore 더 이전 메시지를 조회할 때 before 로 보낼 값, 더 없으면 null
+ */
+public record ChatHistoryResponse(List<ChatLog> messages, Long nextBefore) {
+}
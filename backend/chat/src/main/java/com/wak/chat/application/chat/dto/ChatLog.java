@@ -5,21 +5,31 @@ import java.util.Date;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.format.annotation.DateTimeFormat;
 
-import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
+@NoArgsConstructor
 public class ChatLog {
 
 	private Long userId;
+	private String sender;
+	private String color;
 	private String message;
 	@CreatedDate
 	@DateTimeFormat(pattern = "yyyy-mm-dd hh:mm:ss")
 	private Date createdAt;
 
-	public ChatLog(Long userId, String message) {
+	public ChatLog(Long userId, String sender, String color, String message) {
+		this(userId, sender, color, message, new Date());
+	}
+
+	public ChatLog(Long userId, String sender, String color, String message, Date createdAt) {
 		this.userId = userId;
+		this.sender = sender;
+		this.color = color;
 		this.message = message;
+		this.createdAt = createdAt;
 	}
 
 }
@@ -0,0 +1,54 @@
+package com.wak.chat.domain.chat.document;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.wak.chat.application.chat.dto.ChatLog;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 한 채팅방의 1분 동안의 메시지. id 는 roomKey, minute 과 sequence 로 정해지므로 같은 분의 메시지는 같은 document 에 upsert 된다.
+ * document 가 가득 차면 같은 분의 다음 sequence 로 넘어가므로 한 분에 여러 document 가 있을 수 있다.
+ */
+@Getter
+@NoArgsConstructor
+@Document(collection = ChatBucket.COLLECTION)
+public class ChatBucket {
+	public static final String COLLECTION = "chat_buckets";
+
+	@Id
+	private String id;
+	private String roomKey;
+	private Date minute;
+	private int count;
+	private List<ChatLog> messages;
+
+	public ChatBucket(String roomKey, Date minute, List<ChatLog> messages) {
+		this.id = idOf(roomKey, minute);
+		this.roomKey = roomKey;
+		this.minute = minute;
+		this.count = messages.size();
+		this.messages = messages;
+	}
+
+	public ChatBucket(String roomKey, Date minute, int sequence, List<ChatLog> messages) {
+		this(roomKey, minute, messages);
+		this.id = idOf(roomKey, minute, sequence);
+	}
+
+	public static String idOf(String roomKey, Date minute) {
+		return roomKey + ":" + minute.getTime();
+	}
+
+	/**
+	 * @param sequence 0 이면 sequence 가 없던 때의 id 와 같다
+	 */
+	public static String idOf(String roomKey, Date minute, int sequence) {
+		return sequence == 0 ? idOf(roomKey, minute) : idOf(roomKey, minute) + ":" + sequence;
+	}
+}
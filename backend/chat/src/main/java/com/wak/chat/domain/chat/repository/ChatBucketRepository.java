@@ -0,0 +1,173 @@
+package com.wak.chat.domain.chat.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.wak.chat.application.chat.dto.ChatLog;
+import com.wak.chat.domain.chat.document.ChatBucket;
+
+import jakarta.annotation.PostConstruct;
+
+@Repository
+public class ChatBucketRepository {
+	private static final int DUPLICATE_KEY = 11000;
+
+	private final MongoOperations operations;
+	private final Duration ttl;
+	private final int bucketSize;
+	/**
+	 * 방마다 마지막으로 쓴 분과 sequence. 가득 찬 bucket 에 매번 먼저 써 보지 않도록 한다.
+	 */
+	private final Map<String, Position> positions = new ConcurrentHashMap<>();
+
+	public ChatBucketRepository(MongoOperations operations,
+		@Value("${chat.history.ttl-hours:24}") long ttlHours,
+		@Value("${chat.history.bucket-size:1000}") int bucketSize) {
+		this.operations = operations;
+		this.ttl = Duration.ofHours(ttlHours);
+		this.bucketSize = bucketSize;
+	}
+
+	/**
+	 * 방의 최근 bucket 조회용 (roomKey, minute) index 와, ttl 이 지난 bucket 을 지우는 TTL index 를 만든다.
+	 */
+	@PostConstruct
+	public void ensureIndexes() {
+		IndexOperations indexOps = operations.indexOps(ChatBucket.class);
+		indexOps.ensureIndex(new Index().on("roomKey", Sort.Direction.ASC).on("minute", Sort.Direction.DESC).named("room_minute"));
+		indexOps.ensureIndex(new Index().on("minute", Sort.Direction.ASC).expire(ttl).named("minute_ttl"));
+	}
+
+	public static Date minuteOf(Date date) {
+		return Date.from(date.toInstant().truncatedTo(ChronoUnit.MINUTES));
+	}
+
+	/**
+	 * bucket 마다 $push 한 번으로 메시지를 추가한다. 모든 bucket 이 하나의 unordered bulk write 로 전송된다.
+	 * upsert 조건에 count 를 넣어 bucket-size 를 넘지 않게 하고, 가득 찬 bucket 은 _id 가 겹쳐 실패하므로 다음 sequence 로 다시 쓴다.
+	 *
+	 * @param logsByRoom roomKey 별 메시지, 받은 순서대로
+	 */
+	public void append(Map<String, List<ChatLog>> logsByRoom) {
+		List<Chunk> pending = new ArrayList<>();
+		for (Map.Entry<String, List<ChatLog>> entry : logsByRoom.entrySet()) {
+			String roomKey = entry.getKey();
+			List<ChatLog> logs = entry.getValue();
+			int start = 0;
+			while (start < logs.size()) {
+				Date minute = minuteOf(logs.get(start).getCreatedAt());
+				int end = start + 1;
+				while (end < logs.size() && end - start < bucketSize && minuteOf(logs.get(end).getCreatedAt()).equals(minute))
+					end++;
+
+				pending.add(new Chunk(roomKey, minute, sequenceOf(roomKey, minute), logs.subList(start, end)));
+				start = end;
+			}
+		}
+
+		while (!pending.isEmpty())
+			pending = upsert(pending);
+	}
+
+	/**
+	 * @return 가득 찬 bucket 에 쓰려다 실패해 다음 sequence 로 다시 써야 하는 chunk
+	 */
+	private List<Chunk> upsert(List<Chunk> chunks) {
+		BulkOperations bulk = operations.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatBucket.class);
+		for (Chunk chunk : chunks) {
+			bulk.upsert(Query.query(Criteria.where("_id").is(ChatBucket.idOf(chunk.roomKey(), chunk.minute(), chunk.sequence()))
+					.and("count").lte(bucketSize - chunk.logs().size())),
+				new Update()
+					.setOnInsert("roomKey", chunk.roomKey())
+					.setOnInsert("minute", chunk.minute())
+					.inc("count", chunk.logs().size())
+					.push("messages").each(chunk.logs().toArray()));
+		}
+
+		try {
+			bulk.execute();
+			return List.of();
+		} catch (BulkOperationException e) {
+			List<Chunk> full = new ArrayList<>();
+			for (BulkWriteError error : e.getErrors()) {
+				if (error.getCode() != DUPLICATE_KEY)
+					throw e;
+
+				Chunk next = chunks.get(error.getIndex()).next();
+				positions.computeIfPresent(next.roomKey(), (roomKey, position) ->
+					position.minute().equals(next.minute()) && position.sequence() < next.sequence() ? new Position(next.minute(), next.sequence()) : position);
+				full.add(next);
+			}
+			return full;
+		}
+	}
+
+	private int sequenceOf(String roomKey, Date minute) {
+		Position position = positions.get(roomKey);
+		if (position != null && position.minute().equals(minute))
+			return position.sequence();
+		if (position == null || position.minute().before(minute))
+			positions.put(roomKey, new Position(minute, 0));
+		return 0;
+	}
+
+	/**
+	 * before 가 속한 분부터 최근 limit 분의 bucket 을 조회한다. 한 분에 bucket 이 여럿이면 모두 포함한다.
+	 *
+	 * @param before 이 시각보다 이전의 bucket 만 조회한다
+	 * @param limit  최대 분의 수
+	 * @return 최근 분의 bucket 부터
+	 */
+	public List<ChatBucket> findRecent(String roomKey, Instant before, int limit) {
+		List<ChatBucket> result = new ArrayList<>();
+		Criteria minuteCriteria = Criteria.where("minute").lte(minuteOf(Date.from(before)));
+		int minutes = 0;
+		while (minutes < limit) {
+			int size = limit - minutes;
+			List<ChatBucket> page = operations.find(Query.query(Criteria.where("roomKey").is(roomKey).andOperator(minuteCriteria))
+				.with(Sort.by(Sort.Direction.DESC, "minute"))
+				.limit(size), ChatBucket.class);
+			if (page.isEmpty())
+				break;
+
+			Date last = page.get(page.size() - 1).getMinute();
+			page.stream().filter(bucket -> !bucket.getMinute().equals(last)).forEach(result::add);
+			if (page.size() < size)
+				page.stream().filter(bucket -> bucket.getMinute().equals(last)).forEach(result::add);
+			else
+				result.addAll(operations.find(Query.query(Criteria.where("roomKey").is(roomKey).and("minute").is(last)), ChatBucket.class));
+
+			minutes += (int) page.stream().map(ChatBucket::getMinute).distinct().count();
+			minuteCriteria = Criteria.where("minute").lt(last);
+		}
+		return result;
+	}
+
+	private record Chunk(String roomKey, Date minute, int sequence, List<ChatLog> logs) {
+		Chunk next() {
+			return new Chunk(roomKey, minute, sequence + 1, logs);
+		}
+	}
+
+	private record Position(Date minute, int sequence) {
+	}
+}
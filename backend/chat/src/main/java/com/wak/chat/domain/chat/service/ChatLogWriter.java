@@ -0,0 +1,161 @@
+package com.wak.chat.domain.chat.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.wak.chat.application.chat.dto.ChatLog;
+import com.wak.chat.domain.chat.repository.ChatBucketRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 채팅 기록을 broadcast 와 분리해 저장한다.
+ * 대기열에 쌓인 기록을 batchSize 개가 모이거나 flushMillis 가 지날 때마다 (방, 분) bucket 별 upsert 를 모은 bulk write 한 번으로 쓴다.
+ * 대기열이 가득 차면 overflow 정책에 따라 버리거나(drop), 잠시 기다리거나(block), 호출한 스레드에서 바로 쓴다(caller).
+ */
+@Slf4j
+@Component
+public class ChatLogWriter {
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+	private final ChatBucketRepository chatBucketRepository;
+	private final BlockingQueue<PendingLog> queue;
+	private final int batchSize;
+	private final long flushMillis;
+	private final Overflow overflow;
+	private final long blockMillis;
+	private final AtomicLong dropped = new AtomicLong();
+	private volatile boolean running = true;
+	private Thread worker;
+
+	public ChatLogWriter(ChatBucketRepository chatBucketRepository,
+		@Value("${chat.persistence.queue-capacity:10000}") int queueCapacity,
+		@Value("${chat.persistence.batch-size:500}") int batchSize,
+		@Value("${chat.persistence.flush-millis:200}") long flushMillis,
+		@Value("${chat.persistence.overflow:drop}") String overflow,
+		@Value("${chat.persistence.block-millis:50}") long blockMillis) {
+		this.chatBucketRepository = chatBucketRepository;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.flushMillis = flushMillis;
+		this.overflow = Overflow.valueOf(overflow.toUpperCase());
+		this.blockMillis = blockMillis;
+	}
+
+	@PostConstruct
+	public void start() {
+		worker = new Thread(this::run, "chat-log-writer");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * @param roomKey 로비는 "lobby", 게임 방은 "room-{roomId}"
+	 */
+	public void write(String roomKey, ChatLog chatLog) {
+		PendingLog pending = new PendingLog(roomKey, chatLog);
+		if (queue.offer(pending))
+			return;
+
+		switch (overflow) {
+			case BLOCK -> {
+				if (!offer(pending))
+					drop(roomKey);
+			}
+			case CALLER -> insert(List.of(pending));
+			default -> drop(roomKey);
+		}
+	}
+
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	private boolean offer(PendingLog pending) {
+		try {
+			return queue.offer(pending, blockMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void drop(String roomKey) {
+		long count = dropped.incrementAndGet();
+		if (count == 1 || count % 1000 == 0)
+			log.warn("[CHAT-LOG] queue is full, dropped chat logs total={} roomKey={}", count, roomKey);
+	}
+
+	private void run() {
+		List<PendingLog> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingLog first = queue.poll(flushMillis, TimeUnit.MILLISECONDS);
+				if (first == null)
+					continue;
+
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMillis);
+				while (batch.size() < batchSize) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0 || !running)
+						break;
+					PendingLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null)
+						break;
+					batch.add(next);
+				}
+				queue.drainTo(batch, batchSize - batch.size());
+
+				insert(batch);
+				batch.clear();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void insert(List<PendingLog> batch) {
+		Map<String, List<ChatLog>> byRoom = new LinkedHashMap<>();
+		for (PendingLog pending : batch) {
+			byRoom.computeIfAbsent(pending.roomKey(), roomKey -> new ArrayList<>()).add(pending.chatLog());
+		}
+
+		try {
+			chatBucketRepository.append(byRoom);
+		} catch (Exception e) {
+			log.error("[CHAT-LOG] failed to write {} chat logs to {} rooms", batch.size(), byRoom.size(), e);
+		}
+	}
+
+	/**
+	 * 남은 기록을 모두 쓸 때까지 기다린 뒤 종료한다.
+	 */
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		running = false;
+		if (worker != null)
+			worker.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+		if (!queue.isEmpty())
+			log.error("[CHAT-LOG] {} chat logs were not written before shutdown", queue.size());
+	}
+
+	private enum Overflow {
+		DROP, BLOCK, CALLER
+	}
+
+	private record PendingLog(String roomKey, ChatLog chatLog) {
+	}
+}
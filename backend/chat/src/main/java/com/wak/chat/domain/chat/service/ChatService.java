@@ -1,14 +1,24 @@
 package com.wak.chat.domain.chat.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.stereotype.Service;
 
+import com.wak.chat.application.chat.dto.ChatHistoryResponse;
 import com.wak.chat.application.chat.dto.ChatLog;
 import com.wak.chat.application.chat.dto.ChatRequest;
 import com.wak.chat.application.chat.dto.ChatResponse;
-import com.wak.chat.external.user.client.UserFeignClient;
+import com.wak.chat.domain.chat.document.ChatBucket;
+import com.wak.chat.domain.chat.repository.ChatBucketRepository;
+import com.wak.chat.external.user.cache.NicknameCache;
 import com.wak.chat.global.token.JWTUtils;
+import com.wak.chat.global.token.TokenClaims;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,44 +28,82 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Transactional
 public class ChatService {
+	public static final String LOBBY = "lobby";
+	private static final int MAX_HISTORY_SIZE = 100;
 
-	private final UserFeignClient userFeignClient;
-	private final MongoOperations operations;
+	private final NicknameCache nicknameCache;
+	private final ChatLogWriter chatLogWriter;
+	private final ChatBucketRepository chatBucketRepository;
 	private final JWTUtils jwtUtils;
 
 	public ChatResponse sendMessage(ChatRequest chatRequest, String token) {
-		Long userId = jwtUtils.getId(token.substring(7));
-
-		log.info("[SEND] userId={}, message={}", userId, chatRequest.getMessage());
-		try {
-			ChatLog chatLog = new ChatLog(userId, chatRequest.getMessage());
-			ChatLog insertedLog = operations.insert(chatLog, "lobby");
-			log.info("ChatLog inserted: {}", insertedLog.getMessage());
-		} catch (Exception e) {
-			log.error("Error inserting ChatLog into MongoDB", e);
-		}
+		TokenClaims claims = jwtUtils.getClaims(token.substring(7));
+		String sender = nicknameCache.getNickname(claims, token);
+
+		log.info("[SEND] userId={}, message={}", claims.userId(), chatRequest.getMessage());
+		chatLogWriter.write(LOBBY, new ChatLog(claims.userId(), sender, chatRequest.getColor(), chatRequest.getMessage()));
+
 		return ChatResponse.builder()
-			.sender(getUserInfo(token))
+			.sender(sender)
 			.color(chatRequest.getColor())
 			.message(chatRequest.getMessage())
 			.build();
 	}
 
 	public ChatResponse sendMessage(Long roomId, ChatRequest chatRequest, String token) {
-		Long userId = jwtUtils.getId(token.substring(7));
+		TokenClaims claims = jwtUtils.getClaims(token.substring(7));
+		String sender = nicknameCache.getNickname(claims, token);
 
-		ChatLog chatLog = new ChatLog(userId, chatRequest.getMessage());
-		operations.insert(chatLog, "room-" + roomId);
+		chatLogWriter.write(roomKey(roomId), new ChatLog(claims.userId(), sender, chatRequest.getColor(), chatRequest.getMessage()));
 
 		return ChatResponse.builder()
-			.sender(getUserInfo(token))
+			.sender(sender)
 			.color(chatRequest.getColor())
 			.message(chatRequest.getMessage())
 			.build();
 	}
 
-	public String getUserInfo(String token) {
-		return userFeignClient.getUserInfo(token).getData().nickname();
+	/**
+	 * before 이전의 메시지를 최근 것부터 size 개 찾아 오래된 순서로 돌려준다.
+	 * before 가 속한 분의 bucket 에는 before 이전 메시지가 없을 수 있지만, 그보다 이전 분에는 메시지가 하나 이상 있으므로
+	 * 최근 size + 1 분의 bucket 을 읽으면 남은 메시지가 있는 한 size 개를 채울 수 있다.
+	 * 한 분의 메시지가 여러 bucket 에 나뉘어 있을 수 있으므로 분 단위로 합친 뒤 시각 순서로 정렬한다.
+	 * 다음 페이지는 가장 오래된 메시지의 시각 미만을 조회하므로, 그 시각과 같은 메시지는 size 를 넘더라도 이번 페이지에 모두 넣는다.
+	 *
+	 * @param before epoch millis, 없으면 현재 시각
+	 */
+	public ChatHistoryResponse getHistory(String roomKey, Long before, int size) {
+		Instant until = before == null ? Instant.now() : Instant.ofEpochMilli(before);
+		int limit = Math.max(1, Math.min(size, MAX_HISTORY_SIZE));
+
+		List<ChatLog> messages = new ArrayList<>(limit);
+		List<ChatBucket> buckets = chatBucketRepository.findRecent(roomKey, until, limit + 1);
+		int next = 0;
+		while (next < buckets.size()) {
+			Date minute = buckets.get(next).getMinute();
+			List<ChatLog> logs = new ArrayList<>();
+			while (next < buckets.size() && buckets.get(next).getMinute().equals(minute))
+				logs.addAll(buckets.get(next++).getMessages());
+			logs.sort(Comparator.comparing(ChatLog::getCreatedAt));
+			for (int i = logs.size() - 1; i >= 0; i--) {
+				ChatLog chat = logs.get(i);
+				if (!chat.getCreatedAt().toInstant().isBefore(until))
+					continue;
+				if (messages.size() >= limit && !chat.getCreatedAt().equals(messages.get(messages.size() - 1).getCreatedAt()))
+					break;
+				messages.add(chat);
+			}
+			if (messages.size() >= limit)
+				break;
+		}
+		Collections.reverse(messages);
+
+		Long nextBefore = messages.size() < limit ? null : messages.get(0).getCreatedAt().getTime();
+		return new ChatHistoryResponse(messages, nextBefore);
+	}
+
+	public static String roomKey(Long roomId) {
+		return "room-" + roomId;
 	}
 
 }
@@ -0,0 +1,42 @@
+package com.wak.chat.external.user.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wak.chat.external.user.client.UserFeignClient;
+import com.wak.chat.global.token.TokenClaims;
+
+/**
+ * 메시지를 보낸 사용자의 nickname 을 찾는다.
+ * token 의 nickname claim 을 먼저 쓰고, claim 이 없는 이전 token 이면 userId 별로 캐시한 값을, 캐시에도 없으면 게임 서버에 조회한다.
+ */
+@Component
+public class NicknameCache {
+
+	private final UserFeignClient userFeignClient;
+	private final Cache<Long, String> nicknames;
+
+	public NicknameCache(UserFeignClient userFeignClient,
+		@Value("${chat.nickname-cache.max-size:10000}") long maxSize,
+		@Value("${chat.nickname-cache.ttl-seconds:600}") long ttlSeconds) {
+		this.userFeignClient = userFeignClient;
+		this.nicknames = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+			.build();
+	}
+
+	/**
+	 * @param token 게임 서버에 조회할 때 그대로 보낼 Authorization 헤더
+	 */
+	public String getNickname(TokenClaims claims, String token) {
+		if (claims.nickname() != null)
+			return claims.nickname();
+
+		return nicknames.get(claims.userId(), userId -> userFeignClient.getUserInfo(token).getData().nickname());
+	}
+}
@@ -1,5 +1,6 @@
 package com.wak.chat.global.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
@@ -18,6 +19,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
 	private final StompPreHandler stompPreHandler;
 
+	@Value("${broker.mode:simple}")
+	private String brokerMode;
+
+	@Value("${broker.relay.host:localhost}")
+	private String relayHost;
+
+	@Value("${broker.relay.port:61613}")
+	private int relayPort;
+
+	@Value("${broker.relay.login:guest}")
+	private String relayLogin;
+
+	@Value("${broker.relay.passcode:guest}")
+	private String relayPasscode;
+
+	@Value("${broker.relay.virtual-host:/}")
+	private String relayVirtualHost;
+
 	@Override
 	public void registerStompEndpoints(StompEndpointRegistry registry) {
 		registry.addEndpoint("/socket", "/api/socket")
@@ -26,9 +45,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 		;
 	}
 
+	/**
+	 * broker.mode 가 relay 이면 외부 STOMP 브로커로 구독을 넘긴다.
+	 * /topic/chats/{id} 의 '/' 를 그대로 address 로 쓰는 ActiveMQ Artemis 만 지원한다. RabbitMQ 의 STOMP plugin 은 받지 않는다.
+	 */
 	@Override
 	public void configureMessageBroker(MessageBrokerRegistry registry) {
-		registry.enableSimpleBroker("/topic");
+		if ("relay".equalsIgnoreCase(brokerMode)) {
+			registry.enableStompBrokerRelay("/topic")
+				.setRelayHost(relayHost)
+				.setRelayPort(relayPort)
+				.setClientLogin(relayLogin)
+				.setClientPasscode(relayPasscode)
+				.setSystemLogin(relayLogin)
+				.setSystemPasscode(relayPasscode)
+				.setVirtualHost(relayVirtualHost);
+		} else {
+			registry.enableSimpleBroker("/topic");
+		}
 		registry.setApplicationDestinationPrefixes("/app");
 	}
 
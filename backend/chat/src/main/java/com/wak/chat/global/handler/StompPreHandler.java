@@ -10,36 +10,71 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 
 import com.wak.chat.global.token.JWTUtils;
+import com.wak.chat.global.token.TokenClaims;
+
+import io.jsonwebtoken.JwtException;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class StompPreHandler implements ChannelInterceptor {
 
+	public static final String USER_ID_ATTRIBUTE = "user_id";
+
 	private final JWTUtils jwtUtils;
 
+	/**
+	 * CONNECT 에서 token 을 검증해 userId 를 세션에 묶는다.
+	 * SEND 는 캐시된 검증 결과로 token 을 확인하고, 세션에 묶인 사용자와 다른 token 이면 거절한다.
+	 */
 	@Override
 	public Message<?> preSend(Message<?> message, MessageChannel channel) {
 		StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
 
 		StompCommand command = accessor.getCommand();
-		if (command != StompCommand.SEND) {
-			log.info("[{}] skip", command);
+		if (command == StompCommand.CONNECT) {
+			Long userId = verify(accessor);
+			Map<String, Object> attributes = accessor.getSessionAttributes();
+			if (userId != null && attributes != null)
+				attributes.put(USER_ID_ATTRIBUTE, userId);
 			return message;
 		}
 
-		List<String> authHeaders = accessor.getNativeHeader("Authorization");
-		final String header = (authHeaders != null && !authHeaders.isEmpty()) ? authHeaders.get(0) : null;
-		log.info("[AUTH] header={}", header);
+		if (command != StompCommand.SEND) {
+			return message;
+		}
 
-		if (header == null || !header.startsWith("Bearer ") || jwtUtils.isExpired(header.substring(7))) {
+		Long userId = verify(accessor);
+		Map<String, Object> attributes = accessor.getSessionAttributes();
+		Object boundUserId = attributes == null ? null : attributes.get(USER_ID_ATTRIBUTE);
+		if (userId == null || (boundUserId != null && !boundUserId.equals(userId))) {
 			throw new MessageDeliveryException("Unauthorized");
 		}
 
 		return message;
 	}
+
+	/**
+	 * @return token 이 없거나 유효하지 않으면 null
+	 */
+	private Long verify(StompHeaderAccessor accessor) {
+		List<String> authHeaders = accessor.getNativeHeader("Authorization");
+		final String header = (authHeaders != null && !authHeaders.isEmpty()) ? authHeaders.get(0) : null;
+		if (header == null || !header.startsWith("Bearer "))
+			return null;
+
+		try {
+			TokenClaims claims = jwtUtils.getClaims(header.substring(7));
+			return claims.expiration().before(new Date()) ? null : claims.userId();
+		} catch (JwtException e) {
+			log.info("[AUTH] invalid token: {}", e.getMessage());
+			return null;
+		}
+	}
 }
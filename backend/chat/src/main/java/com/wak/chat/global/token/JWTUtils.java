@@ -6,6 +6,7 @@ import java.util.Date;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -17,22 +18,34 @@ import lombok.extern.slf4j.Slf4j;
 public class JWTUtils {
 
     private final Key key;
+    private final VerifiedTokenCache verifiedTokens;
 
 
-    public JWTUtils(@Value("${spring.jwt.secret}") String secretKey){
+    public JWTUtils(@Value("${spring.jwt.secret}") String secretKey,
+                    @Value("${chat.token-cache.max-size:100000}") long tokenCacheSize){
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.verifiedTokens = new VerifiedTokenCache(tokenCacheSize);
+    }
+
+    /**
+     * 서명을 검증하고 필요한 claim 을 함께 꺼낸다. 한 번 검증한 token 은 exp 까지 다시 검증하지 않는다.
+     */
+    public TokenClaims getClaims(String token) {
+        return verifiedTokens.get(token, this::parse);
     }
 
     public Long getId(String token) {
-        return Jwts.parser().setSigningKey(key).parseClaimsJws(token)
-                .getBody().get("user_id", Long.class);
+        return getClaims(token).userId();
     }
 
     public boolean isExpired(String token) {
+        return getClaims(token).expiration().before(new Date());
+    }
 
-        return Jwts.parser().setSigningKey(key).parseClaimsJws(token)
-                .getBody().getExpiration().before(new Date());
+    private TokenClaims parse(String token) {
+        Claims claims = Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody();
+        return new TokenClaims(claims.get("user_id", Long.class), claims.get("nickname", String.class), claims.getExpiration());
     }
 
 }
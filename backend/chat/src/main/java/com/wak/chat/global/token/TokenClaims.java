@@ -0,0 +1,9 @@
+package com.wak.chat.global.token;
+
+import java.util.Date;
+
+/**
+ * @param nickname 이전에 발급된 token 에는 없으므로 null 일 수 있다
+ */
+public record TokenClaims(Long userId, String nickname, Date expiration) {
+}
@@ -0,0 +1,56 @@
+package com.wak.chat.domain.chat.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.wak.chat.application.chat.dto.ChatLog;
+import com.wak.chat.domain.chat.document.ChatBucket;
+
+/**
+ * MongoDB 대신 메모리에 분 단위 bucket 을 둔다. 한 분의 메시지가 bucketSize 를 넘으면 다음 bucket 에 넣고,
+ * findRecent 는 ChatBucketRepository 와 같이 최근 limit 분의 bucket 을 모두 돌려준다.
+ */
+public class StubChatBucketRepository extends ChatBucketRepository {
+
+	private final Map<String, NavigableMap<Date, List<List<ChatLog>>>> buckets = new TreeMap<>();
+	private final int bucketSize;
+
+	public StubChatBucketRepository() {
+		this(1000);
+	}
+
+	public StubChatBucketRepository(int bucketSize) {
+		super(null, 24, bucketSize);
+		this.bucketSize = bucketSize;
+	}
+
+	@Override
+	public void append(Map<String, List<ChatLog>> logsByRoom) {
+		logsByRoom.forEach((roomKey, logs) -> logs.forEach(log -> {
+			List<List<ChatLog>> minute = buckets.computeIfAbsent(roomKey, key -> new TreeMap<>())
+				.computeIfAbsent(minuteOf(log.getCreatedAt()), key -> new ArrayList<>());
+			if (minute.isEmpty() || minute.get(minute.size() - 1).size() >= bucketSize)
+				minute.add(new ArrayList<>());
+			minute.get(minute.size() - 1).add(log);
+		}));
+	}
+
+	@Override
+	public List<ChatBucket> findRecent(String roomKey, Instant before, int limit) {
+		List<ChatBucket> result = new ArrayList<>();
+		NavigableMap<Date, List<List<ChatLog>>> room = buckets.getOrDefault(roomKey, new TreeMap<>());
+		int minutes = 0;
+		for (Map.Entry<Date, List<List<ChatLog>>> entry : room.headMap(minuteOf(Date.from(before)), true).descendingMap().entrySet()) {
+			if (minutes++ == limit)
+				break;
+			for (int sequence = 0; sequence < entry.getValue().size(); sequence++)
+				result.add(new ChatBucket(roomKey, entry.getKey(), sequence, new ArrayList<>(entry.getValue().get(sequence))));
+		}
+		return result;
+	}
+}
@@ -0,0 +1,87 @@
+package com.wak.chat.domain.chat.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.wak.chat.application.chat.dto.ChatHistoryResponse;
+import com.wak.chat.application.chat.dto.ChatLog;
+import com.wak.chat.domain.chat.repository.StubChatBucketRepository;
+
+class ChatServiceTest {
+
+	private static final long MINUTE = 60_000L;
+	private static final long BASE = 1_700_000_000_000L / MINUTE * MINUTE;
+
+	private final StubChatBucketRepository repository = new StubChatBucketRepository();
+	private final ChatService chatService = new ChatService(null, null, repository, null);
+
+	@Test
+	void pagesThroughAllHistoryWhenCursorIsFirstMessageOfItsMinute() {
+		List<ChatLog> logs = List.of(
+			chat("a", BASE),
+			chat("b", MINUTE + BASE),
+			chat("c", 2 * MINUTE + BASE),
+			chat("d", 3 * MINUTE + BASE),
+			chat("e", 4 * MINUTE + BASE));
+		repository.append(Map.of(ChatService.LOBBY, logs));
+
+		assertThat(readAll(2, 5 * MINUTE + BASE)).containsExactly("a", "b", "c", "d", "e");
+	}
+
+	@Test
+	void keepsMessagesSharingBoundaryMillisecondOnOnePage() {
+		List<ChatLog> logs = List.of(
+			chat("a", BASE + 1),
+			chat("b", BASE + 2),
+			chat("c", BASE + 2),
+			chat("d", BASE + 2),
+			chat("e", BASE + 3));
+		repository.append(Map.of(ChatService.LOBBY, logs));
+
+		ChatHistoryResponse first = chatService.getHistory(ChatService.LOBBY, BASE + 4, 2);
+
+		assertThat(first.messages()).extracting(ChatLog::getMessage).containsExactly("b", "c", "d", "e");
+		assertThat(readAll(2, BASE + 4)).containsExactly("a", "b", "c", "d", "e");
+	}
+
+	@Test
+	void mergesBucketsOfTheSameMinuteBeforePaging() {
+		StubChatBucketRepository smallBuckets = new StubChatBucketRepository(2);
+		ChatService service = new ChatService(null, null, smallBuckets, null);
+		smallBuckets.append(Map.of(ChatService.LOBBY, List.of(
+			chat("b", BASE + 2),
+			chat("d", BASE + 4),
+			chat("e", BASE + 5))));
+		smallBuckets.append(Map.of(ChatService.LOBBY, List.of(
+			chat("a", BASE + 1),
+			chat("c", BASE + 3))));
+
+		assertThat(readAll(service, 2, BASE + MINUTE)).containsExactly("a", "b", "c", "d", "e");
+	}
+
+	private List<String> readAll(int size, long before) {
+		return readAll(chatService, size, before);
+	}
+
+	private List<String> readAll(ChatService service, int size, long before) {
+		List<String> messages = new ArrayList<>();
+		Long cursor = before;
+		while (cursor != null) {
+			ChatHistoryResponse page = service.getHistory(ChatService.LOBBY, cursor, size);
+			List<String> pageMessages = page.messages().stream().map(ChatLog::getMessage).toList();
+			messages.addAll(0, pageMessages);
+			cursor = page.nextBefore();
+		}
+		return messages;
+	}
+
+	private static ChatLog chat(String message, long createdAt) {
+		return new ChatLog(1L, "sender", "#ffffff", message, new Date(createdAt));
+	}
+}
@@ -0,0 +1,33 @@
+package com.wak.chat.external.user.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.wak.chat.external.user.client.StubUserFeignClient;
+import com.wak.chat.global.token.TokenClaims;
+
+class NicknameCacheTest {
+
+	private final StubUserFeignClient client = new StubUserFeignClient("remote");
+	private final NicknameCache nicknameCache = new NicknameCache(client, 100, 60);
+
+	@Test
+	void usesNicknameClaimWithoutRemoteCall() {
+		String nickname = nicknameCache.getNickname(new TokenClaims(1L, "claimed", null), "Bearer token");
+
+		assertThat(nickname).isEqualTo("claimed");
+		assertThat(client.getCalls()).isZero();
+	}
+
+	@Test
+	void looksUpOldTokenOncePerUser() {
+		TokenClaims claims = new TokenClaims(1L, null, null);
+
+		nicknameCache.getNickname(claims, "Bearer token");
+		String nickname = nicknameCache.getNickname(claims, "Bearer token");
+
+		assertThat(nickname).isEqualTo("remote");
+		assertThat(client.getCalls()).isEqualTo(1);
+	}
+}
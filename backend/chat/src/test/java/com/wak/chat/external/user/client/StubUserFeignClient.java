@@ -0,0 +1,27 @@
+package com.wak.chat.external.user.client;
+
+import com.wak.chat.external.user.dto.UserInfoResponse;
+import com.wak.chat.global.util.ApiResult;
+
+/**
+ * 게임 서버 대신 고정된 nickname 을 돌려주고 호출 횟수를 센다.
+ */
+public class StubUserFeignClient implements UserFeignClient {
+
+	private final String nickname;
+	private int calls;
+
+	public StubUserFeignClient(String nickname) {
+		this.nickname = nickname;
+	}
+
+	@Override
+	public ApiResult<UserInfoResponse> getUserInfo(String token) {
+		calls++;
+		return new ApiResult<>(true, UserInfoResponse.of(nickname), null);
+	}
+
+	public int getCalls() {
+		return calls;
+	}
+}
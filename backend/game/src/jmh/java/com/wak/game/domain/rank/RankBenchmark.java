@@ -0,0 +1,60 @@
+package com.wak.game.domain.rank;
+
+import com.wak.game.domain.rank.dto.RankInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * kill 한 번마다 순위를 갱신하는 비용. sortAll 은 Redis 의 ranks hash 를 전부 정렬하던 기존 방식이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RankBenchmark {
+
+    @Param({"50", "500", "2000"})
+    private int players;
+
+    private Map<String, RankInfo> ranks;
+    private Leaderboard leaderboard;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ranks = new HashMap<>();
+        for (long userId = 0; userId < players; userId++) {
+            ranks.put(Long.toString(userId), new RankInfo(userId, "user" + userId, 0, "#ffffff"));
+        }
+        leaderboard = new Leaderboard(players);
+    }
+
+    @Benchmark
+    public List<RankInfo> sortAll() {
+        ranks.get(Integer.toString(nextSlot())).updateKill();
+
+        List<RankInfo> sorted = new ArrayList<>(ranks.values());
+        sorted.sort((r1, r2) -> Integer.compare(r2.getKillCnt(), r1.getKillCnt()));
+        return sorted;
+    }
+
+    @Benchmark
+    public int leaderboardIncrement() {
+        return leaderboard.increment(nextSlot());
+    }
+
+    @Benchmark
+    public int[] leaderboardIncrementAndTop10() {
+        leaderboard.increment(nextSlot());
+        return leaderboard.topK(10);
+    }
+
+    private int nextSlot() {
+        next = (next * 31 + 7) % players;
+        return next;
+    }
+}
@@ -0,0 +1,79 @@
+package com.wak.game.domain.round.thread;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wak.game.domain.player.dto.PlayerInfo;
+import com.wak.game.domain.round.Round;
+import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.domain.round.state.RoomState;
+import com.wak.game.global.metrics.GameMetrics;
+import com.wak.game.global.util.SocketUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.wak.game.support.DiscardingMessaging;
+import com.wak.game.support.InMemoryRedisUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * checkClickedUser 한 번의 비용. 플레이어 조회, 공격 반영, 순위 갱신, 스냅샷 직렬화, kill-log 전송까지 포함한다.
+ * 라운드가 끝나지 않도록 stamina 를 크게 두고, 스냅샷 쓰기는 호출 스레드에서 바로 실행한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClickProcessingBenchmark {
+    private static final long ROUND_ID = 1L;
+    private static final long ROOM_ID = 1L;
+
+    @Param({"50", "500"})
+    private int players;
+
+    private GameLoopScheduler scheduler;
+    private ClickEventProcessor processor;
+    private ClickDTO[] clicks;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<PlayerInfo> infos = new ArrayList<>(players);
+        for (long userId = 1; userId <= players; userId++) {
+            infos.add(new PlayerInfo(ROUND_ID, userId, "#ffffff", "user" + userId, userId % 2 == 0 ? "A" : "B", userId == 1, Integer.MAX_VALUE));
+        }
+
+        InMemoryRedisUtil redisUtil = new InMemoryRedisUtil(new ObjectMapper());
+        SocketUtil socketUtil = new SocketUtil(DiscardingMessaging.template(), redisUtil);
+        scheduler = new GameLoopScheduler(1, 1024, 1, 10, 50, 40);
+        processor = new ClickEventProcessor(round(), ROOM_ID, RoomState.of(ROUND_ID, infos), redisUtil, socketUtil,
+                null, null, null, scheduler, Runnable::run, new GameMetrics(new SimpleMeterRegistry()));
+
+        clicks = new ClickDTO[1024];
+        for (int i = 0; i < clicks.length; i++) {
+            long user = 1 + (i % players);
+            long victim = 1 + ((i * 7L + 3) % players);
+            if (victim == user)
+                victim = 1 + (victim % players);
+            clicks[i] = new ClickDTO(user, victim, ROUND_ID, "2024-06-01T00:00:00", System.nanoTime());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public void checkClickedUser() {
+        processor.checkClickedUser(clicks[next++ & (clicks.length - 1)]);
+    }
+
+    private static Round round() throws ReflectiveOperationException {
+        Round round = Round.builder().roundNumber(1).aggro("").showNickname(true).build();
+        Field id = Round.class.getDeclaredField("id");
+        id.setAccessible(true);
+        id.set(round, ROUND_ID);
+        return round;
+    }
+}
@@ -0,0 +1,85 @@
+package com.wak.game.global.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wak.game.domain.player.dto.PlayerInfo;
+import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.global.codec.CompactRedisSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisConfig 의 값 직렬화 비용. json* 은 이전 GenericJackson2JsonRedisSerializer 기준이고,
+ * clickAsListEntry 는 이전 saveToList 처럼 JSON 문자열을 다시 직렬화하던 경로다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedisSerializationBenchmark {
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final CompactRedisSerializer compact = CompactRedisSerializer.of("binary");
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ClickDTO click;
+    private PlayerInfo player;
+    private byte[] jsonClickBytes;
+    private byte[] jsonPlayerBytes;
+    private byte[] compactClickBytes;
+    private byte[] compactPlayerBytes;
+
+    @Setup
+    public void setUp() {
+        click = new ClickDTO(1L, 2L, 3L, "2024-06-01T00:00:00", 1_717_200_000_000_000_000L);
+        player = new PlayerInfo(3L, 1L, "#ffffff", "nickname", "A", false, 1);
+        jsonClickBytes = json.serialize(click);
+        jsonPlayerBytes = json.serialize(player);
+        compactClickBytes = compact.serialize(click);
+        compactPlayerBytes = compact.serialize(player);
+    }
+
+    @Benchmark
+    public byte[] jsonSerializeClick() {
+        return json.serialize(click);
+    }
+
+    @Benchmark
+    public Object jsonDeserializeClick() {
+        return json.deserialize(jsonClickBytes);
+    }
+
+    @Benchmark
+    public byte[] clickAsListEntry() throws Exception {
+        return json.serialize(objectMapper.writeValueAsString(click));
+    }
+
+    @Benchmark
+    public byte[] jsonSerializePlayer() {
+        return json.serialize(player);
+    }
+
+    @Benchmark
+    public Object jsonDeserializePlayer() {
+        return json.deserialize(jsonPlayerBytes);
+    }
+
+    @Benchmark
+    public byte[] compactSerializeClick() {
+        return compact.serialize(click);
+    }
+
+    @Benchmark
+    public Object compactDeserializeClick() {
+        return compact.deserialize(compactClickBytes);
+    }
+
+    @Benchmark
+    public byte[] compactSerializePlayer() {
+        return compact.serialize(player);
+    }
+
+    @Benchmark
+    public Object compactDeserializePlayer() {
+        return compact.deserialize(compactPlayerBytes);
+    }
+}
@@ -0,0 +1,52 @@
+package com.wak.game.global.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wak.game.application.response.socket.RoomListResponse;
+import com.wak.game.domain.room.dto.RoomInfo;
+import com.wak.game.support.DiscardingMessaging;
+import com.wak.game.support.InMemoryRedisUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로비 방 목록의 비용. 방 하나의 인원이 바뀌었을 때 바뀐 page 만 다시 보내는 경우와, page 하나를 조회하는 경우를 잰다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomListBenchmark {
+
+    @Param({"60", "6000"})
+    private int rooms;
+
+    private InMemoryRedisUtil redisUtil;
+    private SocketUtil socketUtil;
+    private RoomInfo updated;
+
+    @Setup
+    public void setUp() {
+        redisUtil = new InMemoryRedisUtil(new ObjectMapper());
+        for (long roomId = 1; roomId <= rooms; roomId++) {
+            RoomInfo room = new RoomInfo(roomId, "room" + roomId, 1, 8, "normal", roomId % 3 == 0, true);
+            redisUtil.saveLobbyRoom(room);
+            if (roomId == rooms / 2)
+                updated = room;
+        }
+        socketUtil = new SocketUtil(DiscardingMessaging.template(), redisUtil);
+        socketUtil.sendRoomList(0, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public void sendChangedPage() {
+        if (updated.updateCurrentPlayers() >= 8)
+            updated = new RoomInfo(updated.getRoomId(), updated.getRoomName(), 1, 8, updated.getMode(), updated.getIsStart(), true);
+        RoomInfo room = updated;
+        socketUtil.updateLobby(room.getRoomId(), () -> redisUtil.saveLobbyRoom(room));
+    }
+
+    @Benchmark
+    public RoomListResponse getPage() {
+        return socketUtil.getRoomList(1);
+    }
+}
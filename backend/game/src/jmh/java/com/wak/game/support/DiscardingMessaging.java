@@ -0,0 +1,19 @@
+package com.wak.game.support;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * 메시지를 JSON 으로 변환만 하고 버리는 STOMP 전송 대역. 브로커 없이 직렬화 비용만 측정한다.
+ */
+public final class DiscardingMessaging {
+
+    private DiscardingMessaging() {
+    }
+
+    public static SimpMessagingTemplate template() {
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> true);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        return template;
+    }
+}
@@ -0,0 +1,122 @@
+package com.wak.game.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wak.game.domain.room.dto.RoomInfo;
+import com.wak.game.global.codec.CompactRedisSerializer;
+import com.wak.game.global.metrics.GameMetrics;
+import com.wak.game.global.util.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 Redis 대역. 값은 RedisConfig 와 같은 직렬화기로 byte[] 로 바꿔 메모리에 보관하므로
+ * 네트워크 왕복을 제외한 직렬화 비용은 실제와 같다.
+ */
+public class InMemoryRedisUtil extends RedisUtil {
+    private final CompactRedisSerializer serializer = CompactRedisSerializer.of("binary");
+    private final Map<String, Map<String, byte[]>> hashes = new ConcurrentHashMap<>();
+    private final Map<String, List<byte[]>> lists = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, RoomInfo> lobbyIndex = new ConcurrentSkipListMap<>();
+    private final Map<Long, Long> lobbyScores = new ConcurrentHashMap<>();
+    private final AtomicLong lobbyVersion = new AtomicLong();
+    private final Map<Integer, long[]> lobbyPages = new ConcurrentHashMap<>();
+
+    public InMemoryRedisUtil(ObjectMapper objectMapper) {
+        super(new RedisTemplate<>(), objectMapper, new GameMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Override
+    public void saveData(String key, String hashkey, Object data) {
+        hashes.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(hashkey, serializer.serialize(data));
+    }
+
+    @Override
+    public void saveSnapshot(Long roomId, Map<String, ?> users, Map<String, ?> ranks, Map<String, ?> deaths, String streamKey, String group, Collection<RecordId> ids, RecordId lastApplied) {
+        users.forEach((field, value) -> saveData("roomId:" + roomId + ":users", field, value));
+        ranks.forEach((field, value) -> saveData("roomId:" + roomId + ":ranks", field, value));
+        deaths.forEach((field, value) -> saveData("roomId:" + roomId + ":deaths", field, value));
+    }
+
+    @Override
+    public <T> void saveToList(String key, T data) {
+        lists.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(serializer.serialize(data));
+    }
+
+    @Override
+    public <T> Map<String, T> getData(String key, Class<T> classType) {
+        Map<String, T> result = new HashMap<>();
+        hashes.getOrDefault(key, Map.of()).forEach((field, bytes) -> result.put(field, classType.cast(serializer.deserialize(bytes))));
+        return result;
+    }
+
+    /**
+     * 로비 index 는 Redis 와 같은 순서가 되도록 (시작 여부, -roomId) 로 정렬한다.
+     */
+    @Override
+    public void saveLobbyRoom(RoomInfo roomInfo) {
+        Long previous = lobbyScores.remove(roomInfo.getRoomId());
+        if (previous != null)
+            lobbyIndex.remove(previous);
+        long score = (roomInfo.getIsStart() ? 1L << 50 : 0) - roomInfo.getRoomId();
+        lobbyScores.put(roomInfo.getRoomId(), score);
+        lobbyIndex.put(score, roomInfo);
+        lobbyVersion.incrementAndGet();
+    }
+
+    @Override
+    public void deleteLobbyRoom(Long roomId) {
+        Long score = lobbyScores.remove(roomId);
+        if (score != null)
+            lobbyIndex.remove(score);
+        lobbyVersion.incrementAndGet();
+    }
+
+    @Override
+    public long getLobbyVersion() {
+        return lobbyVersion.get();
+    }
+
+    /**
+     * Redis 의 MARK_LOBBY_PAGE 와 같은 규칙으로 {version, fingerprint} 를 보관한다.
+     */
+    @Override
+    public boolean markLobbyPage(int page, long version, int fingerprint) {
+        boolean[] marked = new boolean[1];
+        lobbyPages.compute(page, (key, current) -> {
+            if (current != null && current[0] > version)
+                return current;
+            marked[0] = current == null || current[1] != fingerprint;
+            return new long[]{version, fingerprint};
+        });
+        return marked[0];
+    }
+
+    @Override
+    public Long getLobbyRank(Long roomId) {
+        Long score = lobbyScores.get(roomId);
+        return score == null ? null : (long) lobbyIndex.headMap(score).size();
+    }
+
+    @Override
+    public long countLobbyRooms() {
+        return lobbyIndex.size();
+    }
+
+    @Override
+    public List<RoomInfo> getLobbyRooms(long start, long end) {
+        long limit = end < 0 ? Long.MAX_VALUE : end - start + 1;
+        return lobbyIndex.values().stream().skip(start).limit(limit).toList();
+    }
+
+    @Override
+    public void deleteKey(String key) {
+        hashes.remove(key);
+        lists.remove(key);
+    }
+}
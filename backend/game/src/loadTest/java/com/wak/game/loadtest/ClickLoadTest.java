@@ -0,0 +1,279 @@
+package com.wak.game.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 여러 방에 STOMP 클라이언트를 붙여 동시에 클릭을 보내고, 클릭 전송부터 kill-log 수신까지의 지연을 측정한다.
+ * 방마다 첫 라운드가 끝나거나 제한 시간이 지나면 종료한다.
+ *
+ * ./gradlew loadTest -Prooms=50 -PplayersPerRoom=8 -PclicksPerSecond=5 -PdurationSeconds=120
+ */
+public class ClickLoadTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final int rooms;
+    private final int playersPerRoom;
+    private final int clicksPerSecond;
+    private final int durationSeconds;
+    private final RestClient restClient;
+    private final WebSocketStompClient stompClient;
+    private final ScheduledExecutorService clickers;
+    private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sentClicks = new AtomicLong();
+    private final AtomicLong receivedKillLogs = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    public ClickLoadTest(String baseUrl, int rooms, int playersPerRoom, int clicksPerSecond, int durationSeconds) {
+        this.baseUrl = baseUrl;
+        this.rooms = rooms;
+        this.playersPerRoom = playersPerRoom;
+        this.clicksPerSecond = clicksPerSecond;
+        this.durationSeconds = durationSeconds;
+        this.restClient = RestClient.builder().baseUrl(baseUrl).build();
+        this.clickers = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+
+        ThreadPoolTaskScheduler heartbeat = new ThreadPoolTaskScheduler();
+        heartbeat.setPoolSize(2);
+        heartbeat.initialize();
+
+        this.stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        this.stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        this.stompClient.setTaskScheduler(heartbeat);
+    }
+
+    public static void main(String[] args) throws Exception {
+        ClickLoadTest loadTest = new ClickLoadTest(
+                System.getProperty("baseUrl", "http://localhost:8081"),
+                Integer.getInteger("rooms", 10),
+                Integer.getInteger("playersPerRoom", 8),
+                Integer.getInteger("clicksPerSecond", 5),
+                Integer.getInteger("durationSeconds", 60));
+        loadTest.run();
+        System.exit(0);
+    }
+
+    public void run() throws Exception {
+        List<GameRoom> gameRooms = new ArrayList<>(rooms);
+        for (int r = 0; r < rooms; r++) {
+            gameRooms.add(prepareRoom(r));
+        }
+        System.out.printf("prepared %d rooms, %d sessions%n", rooms, rooms * playersPerRoom);
+
+        CountDownLatch finished = new CountDownLatch(rooms);
+        long startNanos = System.nanoTime();
+        for (GameRoom room : gameRooms) {
+            room.start(finished);
+        }
+
+        boolean allFinished = finished.await(durationSeconds, TimeUnit.SECONDS);
+        double elapsed = (System.nanoTime() - startNanos) / 1e9;
+
+        clickers.shutdownNow();
+        gameRooms.forEach(GameRoom::disconnect);
+        report(elapsed, allFinished);
+    }
+
+    private GameRoom prepareRoom(int index) throws Exception {
+        List<Player> players = new ArrayList<>(playersPerRoom);
+        for (int p = 0; p < playersPerRoom; p++) {
+            players.add(login("lt" + runId + "r" + index + "p" + p));
+        }
+
+        Player host = players.get(0);
+        JsonNode created = post("/api/rooms", host, Map.of("roomName", "load-" + index, "roomPassword", "", "limitPlayers", playersPerRoom, "mode", "SOLO"));
+        long roomId = created.path("data").path("roomId").asLong();
+
+        for (Player player : players.subList(1, players.size())) {
+            post("/api/rooms/" + roomId, player, Map.of("roomPassword", ""));
+        }
+
+        GameRoom room = new GameRoom(roomId, players);
+        for (Player player : players) {
+            room.connect(player);
+        }
+        return room;
+    }
+
+    private Player login(String nickname) throws Exception {
+        JsonNode response = post("/api/users", null, Map.of("nickname", nickname));
+        String token = response.path("data").path("token").asText();
+        String payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+        long userId = objectMapper.readTree(payload).path("user_id").asLong();
+        return new Player(userId, nickname, token);
+    }
+
+    private JsonNode post(String uri, Player player, Object body) throws Exception {
+        RestClient.RequestBodySpec request = restClient.post().uri(uri);
+        if (player != null)
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + player.token());
+        String response = request.contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .retrieve()
+                .body(String.class);
+        return objectMapper.readTree(response);
+    }
+
+    private void report(double elapsedSeconds, boolean allFinished) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        System.out.printf("elapsed %.1fs, all rooms finished: %s%n", elapsedSeconds, allFinished);
+        System.out.printf("clicks sent %d (%.0f/s), kill-logs received %d%n", sentClicks.get(), sentClicks.get() / elapsedSeconds, receivedKillLogs.get());
+        if (sorted.length == 0) {
+            System.out.println("no kill-log latency samples");
+            return;
+        }
+        System.out.printf("kill-log latency ms p50=%.2f p90=%.2f p99=%.2f max=%.2f (n=%d)%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6, sorted.length);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Player(long userId, String nickname, String token) {
+    }
+
+    /**
+     * 방 하나의 클라이언트들. 살아있는 플레이어를 추적해 살아있는 상대만 클릭한다.
+     */
+    private class GameRoom {
+        private final long roomId;
+        private final List<Player> players;
+        private final Map<String, Long> userIds = new HashMap<>();
+        private final Set<Long> alive = ConcurrentHashMap.newKeySet();
+        private final Map<String, Long> pendingKills = new ConcurrentHashMap<>();
+        private final Map<Long, StompSession> sessions = new ConcurrentHashMap<>();
+        private final List<ScheduledFuture<?>> tasks = new CopyOnWriteArrayList<>();
+        private volatile long roundId;
+        private volatile boolean finished;
+        private CountDownLatch finishedLatch;
+
+        GameRoom(long roomId, List<Player> players) {
+            this.roomId = roomId;
+            this.players = players;
+            players.forEach(player -> {
+                userIds.put(player.nickname(), player.userId());
+                alive.add(player.userId());
+            });
+        }
+
+        void connect(Player player) throws Exception {
+            WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add(HttpHeaders.AUTHORIZATION, "Bearer " + player.token());
+
+            StompSession session = stompClient.connectAsync(baseUrl + "/socket", handshakeHeaders, connectHeaders, new StompSessionHandlerAdapter() {
+            }).get(10, TimeUnit.SECONDS);
+
+            session.subscribe("/topic/games/" + roomId + "/kill-log", handler(Map.class, this::onKillLog));
+            session.subscribe("/topic/games/" + roomId + "/battle-field", handler(Map.class, this::onBattleField));
+            session.subscribe("/topic/games/" + roomId + "/battle-field/delta", handler(Map.class, body -> {
+            }));
+            session.subscribe("/topic/games/" + roomId + "/rank/delta", handler(Map.class, body -> {
+            }));
+            session.subscribe("/topic/games/" + roomId + "/dashboard", handler(Map.class, body -> {
+            }));
+            sessions.put(player.userId(), session);
+        }
+
+        void start(CountDownLatch finishedLatch) throws Exception {
+            this.finishedLatch = finishedLatch;
+            JsonNode response = post("/api/games/start/" + roomId, players.get(0), Map.of("comment", "load test", "showNickname", true));
+            roundId = response.path("data").path("roundId").asLong();
+
+            long periodMicros = 1_000_000L / clicksPerSecond;
+            for (Player player : players) {
+                long initialDelay = ThreadLocalRandom.current().nextLong(periodMicros);
+                tasks.add(clickers.scheduleAtFixedRate(() -> click(player), initialDelay, periodMicros, TimeUnit.MICROSECONDS));
+            }
+        }
+
+        private void click(Player player) {
+            if (finished || !alive.contains(player.userId()))
+                return;
+
+            Long[] targets = alive.stream().filter(id -> id != player.userId()).toArray(Long[]::new);
+            if (targets.length == 0)
+                return;
+
+            long victimId = targets[ThreadLocalRandom.current().nextInt(targets.length)];
+            Player victim = players.stream().filter(p -> p.userId() == victimId).findFirst().orElseThrow();
+            pendingKills.putIfAbsent(player.nickname() + "->" + victim.nickname(), System.nanoTime());
+
+            Map<String, Object> click = Map.of(
+                    "roomId", roomId,
+                    "roundId", roundId,
+                    "userId", player.userId(),
+                    "victimId", victimId,
+                    "clickTime", Instant.now().toString());
+            sessions.get(player.userId()).send("/app/click/" + roomId, click);
+            sentClicks.incrementAndGet();
+        }
+
+        private void onKillLog(Map<?, ?> body) {
+            long receivedAt = System.nanoTime();
+            String attacker = (String) body.get("userNickname");
+            String victim = (String) body.get("victimNickName");
+
+            Long victimId = userIds.get(victim);
+            if (victimId != null)
+                alive.remove(victimId);
+
+            Long sentAt = pendingKills.get(attacker + "->" + victim);
+            if (sentAt != null)
+                latencies.add(receivedAt - sentAt);
+            receivedKillLogs.incrementAndGet();
+        }
+
+        private void onBattleField(Map<?, ?> body) {
+            if (Boolean.TRUE.equals(body.get("isFinished")) && !finished) {
+                finished = true;
+                tasks.forEach(task -> task.cancel(false));
+                finishedLatch.countDown();
+            }
+        }
+
+        void disconnect() {
+            sessions.values().forEach(StompSession::disconnect);
+        }
+    }
+
+    private static <T> StompFrameHandler handler(Class<T> type, Consumer<T> consumer) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return type;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                consumer.accept(type.cast(payload));
+            }
+        };
+    }
+}
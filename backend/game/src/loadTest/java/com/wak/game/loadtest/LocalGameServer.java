@@ -0,0 +1,32 @@
+package com.wak.game.loadtest;
+
+import com.wak.game.GameApplication;
+import org.springframework.boot.SpringApplication;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+
+/**
+ * 부하 테스트용 로컬 게임 서버. 내장 Redis 와 H2 로 외부 의존 없이 실행한다.
+ *
+ * ./gradlew loadTestServer
+ */
+public class LocalGameServer {
+
+    public static void main(String[] args) throws IOException {
+        int redisPort = Integer.getInteger("loadtest.redis.port", 6379);
+        RedisServer redisServer = new RedisServer(redisPort);
+        redisServer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                redisServer.stop();
+            } catch (IOException ignored) {
+            }
+        }));
+
+        SpringApplication application = new SpringApplication(GameApplication.class);
+        application.setAdditionalProfiles("local");
+        application.run(args);
+    }
+}
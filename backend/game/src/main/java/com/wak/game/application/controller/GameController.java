@@ -6,6 +6,7 @@ import com.wak.game.application.request.socket.ClickRequest;
 import com.wak.game.application.request.socket.MentionRequest;
 import com.wak.game.global.token.AuthUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Controller;
@@ -16,14 +17,16 @@ public class GameController {
     private final PlayerFacade playerFacade;
     private final RoundFacade roundFacade;
 
+    /**
+     * 클릭한 사용자는 payload 의 userId 가 아니라 CONNECT 때 세션에 묶은 userId 로 정한다.
+     */
     @MessageMapping("/click/{roomId}")
-    public void handleClick(@Payload ClickRequest clickRequest) {
-        playerFacade.saveClickLog(clickRequest);
+    public void handleClick(@AuthUser Long userId, @DestinationVariable Long roomId, @Payload ClickRequest clickRequest) {
+        playerFacade.saveClickLog(userId, roomId, clickRequest);
     }
 
     @MessageMapping("/mention/{roomId}")
     public void setMention(@AuthUser Long userId, @Payload MentionRequest mentionRequest) {
-        System.out.println("멘션 수정 요청");
         roundFacade.saveMention(userId, mentionRequest);
     }
 }
@@ -102,16 +102,15 @@ public class RoomController {
 
     @Operation(
             summary = "로비 입장 시 publish 요청",
-            description = "로비 입장 시 게임룸 리스트에 대한 정보를 publish 요청하는 API 입니다.",
+            description = "로비 입장 시 게임룸 리스트에 대한 정보를 publish 요청하는 API 입니다. page 를 주면 해당 page 의 방만 반환합니다.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "입장 성공")
             },
             security = { @SecurityRequirement(name = "Access-Token") }
     )
     @GetMapping("/topic/lobby")
-    public ResponseEntity<ApiResult<RoomListResponse>> publishLobbyInfo() {
-//        socketUtil.sendRoomList();
-        RoomListResponse response = roomFacade.sendRoomList();
+    public ResponseEntity<ApiResult<RoomListResponse>> publishLobbyInfo(@RequestParam(value = "page", required = false) Integer page) {
+        RoomListResponse response = roomFacade.sendRoomList(page);
         return ResponseEntity.ok(ApiUtils.success(response));
     }
 
@@ -41,7 +41,6 @@ public class RoundController {
     @ApiErrorExamples({ErrorInfo.USER_NOT_EXIST, ErrorInfo.ROOM_NOT_EXIST, ErrorInfo.ROOM_NOT_HOST, ErrorInfo.ROUND_NOT_EXIST, ErrorInfo.ROOM_ALREADY_STARTED, ErrorInfo.ROOM_ALREADY_STARTED})
     @PostMapping("/start/{room-id}")
     public ResponseEntity<ApiResult<GameStartResponse>> startGame(@RequestBody GameStartRequest gameStartRequest, @PathVariable("room-id") Long roomId, @AuthUser Long userId) {
-        System.out.println("startGame 요청");
         GameStartResponse gameStartResponse = roundFacade.startGame(gameStartRequest, roomId, userId);
         return ResponseEntity.ok(ApiUtils.success(gameStartResponse));
     }
@@ -70,7 +69,6 @@ public class RoundController {
     )
     @GetMapping("/{roomId}/battle-field")
     public ResponseEntity<ApiResult<Void>> publishBattleField(@PathVariable Long roomId) {
-        System.out.println("겟겟");
         roundFacade.sendBattleField(roomId, false);
         roundFacade.sendDashBoard(roomId,1);
         roundFacade.sendTime(roomId, 5);
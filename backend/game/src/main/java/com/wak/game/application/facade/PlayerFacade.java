@@ -1,14 +1,10 @@
 package com.wak.game.application.facade;
 
 import com.wak.game.application.request.socket.ClickRequest;
-import com.wak.game.domain.player.PlayerService;
-import com.wak.game.domain.room.Room;
-import com.wak.game.domain.room.RoomService;
-import com.wak.game.domain.round.Round;
+import com.wak.game.domain.round.ClickRateLimiter;
 import com.wak.game.domain.round.RoundService;
 import com.wak.game.domain.round.dto.ClickDTO;
-import com.wak.game.domain.user.User;
-import com.wak.game.domain.user.UserService;
+import com.wak.game.global.metrics.GameMetrics;
 import com.wak.game.global.util.TimeUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,23 +14,35 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @Service
 public class PlayerFacade {
-    private final PlayerService playerService;
     private final RoundService roundService;
-    private final UserService userService;
-    private final RoomService roomService;
     private final TimeUtil timeUtil;
+    private final GameMetrics gameMetrics;
+    private final ClickRateLimiter clickRateLimiter;
 
-    public void saveClickLog(ClickRequest request) {
+    /**
+     * 속도 제한과 중복 검사는 Redis 를 읽기 전에 한다. 버린 클릭은 이유별로 game.clicks.dropped 에 센다.
+     *
+     * @param userId 세션에 묶인 사용자. request 의 userId 는 사용하지 않는다
+     */
+    public void saveClickLog(Long userId, Long roomId, ClickRequest request) {
+        if (request.getVictimId() == null)
+            return;
 
-        Room room = roomService.findById(request.getRoomId());
+        ClickRateLimiter.Result limit = clickRateLimiter.tryAcquire(roomId, userId, request.getVictimId());
+        if (limit != ClickRateLimiter.Result.ACCEPTED) {
+            gameMetrics.clickDropped(limit.name().toLowerCase());
+            return;
+        }
 
-        Round round = roundService.getRound(room.getId());
-        User user = userService.findById(request.getUserId());
-        User victimUser = userService.findById(request.getVictimId());
+        Long roundId = roundService.acceptClick(roomId, userId, request.getVictimId());
+        if (roundId == null)
+            return;
 
-        Long currentTimeInNanos = timeUtil.getCurrentTimeInNanos();
+        ClickDTO click = new ClickDTO(userId, request.getVictimId(), roundId, request.getClickTime(), timeUtil.getCurrentTimeInNanos());
 
-        ClickDTO click = new ClickDTO(user.getId(), victimUser.getId(), round.getId(), request.getClickTime(), currentTimeInNanos);
-        playerService.saveClickLog(room.getId(), click);
+        gameMetrics.clickReceived();
+
+        if (!roundService.dispatchClick(roomId, click))
+            log.warn("[CLICK] no running processor for roomId={}", roomId);
     }
 }
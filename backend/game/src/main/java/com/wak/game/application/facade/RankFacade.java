@@ -2,7 +2,7 @@ package com.wak.game.application.facade;
 
 import com.wak.game.application.response.socket.RankListResponse;
 import com.wak.game.domain.rank.dto.RankInfo;
-import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.domain.round.RoundService;
 import com.wak.game.global.util.RedisUtil;
 import com.wak.game.global.util.SocketUtil;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +17,15 @@ import java.util.*;
 public class RankFacade {
     private final RedisUtil redisUtil;
     private final SocketUtil socketUtil;
+    private final RoundService roundService;
 
+    /**
+     * 이 노드에서 진행 중인 방은 게임 루프의 순위표를 그대로 보내고, 아니면 Redis 스냅샷을 정렬해 보낸다.
+     */
     public void sendRank(Long roomId) {
+        if (roundService.submitToGameLoop(roomId, state -> sendRank(roomId, state.getRanks())))
+            return;
+
         String key = "roomId:" + roomId + ":ranks";
         Map<String, RankInfo> map = redisUtil.getData(key, RankInfo.class);
 
@@ -28,17 +35,7 @@ public class RankFacade {
         socketUtil.sendMessage("/games/" + roomId + "/rank", new RankListResponse(ranks));
     }
 
-    public void updateRankings(ClickDTO click, Long roomId) {
-        Long userId = click.getUserId();
-
-        String key = "roomId:" + roomId + ":ranks";
-        Map<String, RankInfo> curRoundRanks = redisUtil.getData(key, RankInfo.class);
-        RankInfo rank = curRoundRanks.get(click.getUserId().toString());
-
-        rank.updateKill();
-        curRoundRanks.put(userId.toString(), rank);
-
-        redisUtil.saveData(key, userId.toString(), rank);
+    public void sendRank(Long roomId, List<RankInfo> ranks) {
+        socketUtil.sendMessage("/games/" + roomId + "/rank", new RankListResponse(ranks));
     }
-
 }
@@ -49,9 +49,9 @@ public class RoomFacade {
         else isPublic = false;
 
         redisUtil.saveData("room" + room.getId(), String.valueOf(user.getId()), new RoomVO(user.getId(), user.getColor().getHexColor(), user.getNickname(), "001", true));
-        redisUtil.saveData("roomInfo", String.valueOf(room.getId()), new RoomInfo(room.getId(), room.getRoomName(), room.getCurrentPlayers(), room.getLimitPlayers(), room.getMode().toString(), false, isPublic));
+        RoomInfo roomInfo = new RoomInfo(room.getId(), room.getRoomName(), room.getCurrentPlayers(), room.getLimitPlayers(), room.getMode().toString(), false, isPublic);
+        socketUtil.updateLobby(room.getId(), () -> redisUtil.saveLobbyRoom(roomInfo));
 
-//        socketUtil.sendRoomList();
         socketUtil.sendRoomInfoSocket(room);
         return RoomCreateResponse.of(room.getId());
     }
@@ -83,9 +83,8 @@ public class RoomFacade {
             throw new BusinessException(ErrorInfo.ROOM_PLAYER_IS_FULL);
 
         redisUtil.saveData("room" + room.getId(), String.valueOf(user.getId()), new RoomVO(user.getId(), user.getColor().getHexColor(), user.getNickname(), "001", false));
-        redisUtil.saveData("roomInfo", String.valueOf(room.getId()), roomInfo);
+        socketUtil.updateLobby(roomId, () -> redisUtil.saveLobbyRoom(roomInfo));
 
-//        socketUtil.sendRoomList();
         socketUtil.sendRoomInfoSocket(room);
     }
 
@@ -112,8 +111,7 @@ public class RoomFacade {
                 throw new BusinessException(ErrorInfo.ROOM_PLAYER_IS_EMPTY);
 
             redisUtil.deleteField("room" + room.getId(), String.valueOf(user.getId()));
-            redisUtil.saveData("roomInfo", String.valueOf(room.getId()), roomInfo);
-//            socketUtil.sendRoomList();
+            socketUtil.updateLobby(roomId, () -> redisUtil.saveLobbyRoom(roomInfo));
             socketUtil.sendRoomInfoSocket(room);
         }
     }
@@ -125,7 +123,7 @@ public class RoomFacade {
      */
     public void deleteRoom(Room room){
         redisUtil.deleteKey("room" + room.getId());
-        redisUtil.deleteField("roomInfo", String.valueOf(room.getId()));
+        socketUtil.updateLobby(room.getId(), () -> redisUtil.deleteLobbyRoom(room.getId()));
         roomService.deleteRoom(room);
         socketUtil.sendMessage("/rooms", room.getId().toString(), "ROOM IS EXPIRED");
 //        simpMessageSendingOperations.convertAndSend("/topic/rooms/" + room.getId(), "ROOM IS EXPIRED");
@@ -142,17 +140,15 @@ public class RoomFacade {
         return RoomBasicInfoResponse.of(userId, userRoom.isHost(), roomId, room.getRoomName(), room.getMode().toString(), room.getLimitPlayers(), roomInfo.getIsPublic());
     }
 
-    public RoomListResponse sendRoomList(){
-        Map<String, RoomInfo> map = redisUtil.getData("roomInfo", RoomInfo.class);
-        List<RoomInfo> valueList = new ArrayList<>(map.values());
-        Collections.sort(valueList, (o1, o2) -> {
-            if (o1.getIsStart() == o2.getIsStart())
-                return -Long.compare(o1.getRoomId(), o2.getRoomId());
-            else return Boolean.compare(o1.getIsStart(), o2.getIsStart());
-        });
-
-        int size = socketUtil.getSize(valueList.size());
-        return new RoomListResponse(size, valueList);
+    /**
+     * @param page 1 부터 시작하는 page 번호, 없으면 전체 방 목록
+     */
+    public RoomListResponse sendRoomList(Integer page) {
+        if (page != null)
+            return socketUtil.getRoomList(page);
+
+        List<RoomInfo> rooms = redisUtil.getLobbyRooms(0, -1);
+        return new RoomListResponse(socketUtil.getSize(rooms.size()), rooms);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.wak.game.application.facade;
+
+import com.wak.game.domain.player.dto.DeathInfo;
+import com.wak.game.domain.player.dto.PlayerInfo;
+import com.wak.game.domain.rank.dto.RankInfo;
+import com.wak.game.domain.round.Round;
+import com.wak.game.domain.round.RoundService;
+import com.wak.game.domain.round.state.RoomState;
+import com.wak.game.global.util.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 소유 노드가 사라진 방을 넘겨받는다.
+ * 게임 중인 방의 lease 가 만료되면 lease 를 얻은 노드 하나가 Redis 스냅샷으로 게임 루프를 다시 만들고,
+ * 처리되지 않은 클릭은 ClickStreamReader 가 click stream 에서 이어서 처리한다.
+ * 라운드 사이 휴식 중이던 방은 다음 라운드를 바로 시작하고, 이어서 진행할 수 없는 방은 게임을 끝내고 라운드 상태를 정리한다.
+ * 게임을 시작하는 노드는 방을 게임 중으로 표시하기 전에 lease 를 얻으므로, 시작 중인 방은 소유자 없는 방으로 보이지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class RoomRecoveryFacade {
+    private final RedisUtil redisUtil;
+    private final RoundService roundService;
+    private final RoundFacade roundFacade;
+    private final RankFacade rankFacade;
+
+    /**
+     * 로비 index 가 없던 버전에서 시작한 방도 찾을 수 있도록 index 를 채운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexLobbyRooms() {
+        int added = redisUtil.indexLobbyRooms();
+        if (added > 0)
+            log.info("[RECOVERY] indexed {} lobby rooms", added);
+    }
+
+    @Scheduled(initialDelayString = "${game.recovery.initial-delay-millis:0}", fixedDelayString = "${game.recovery.scan-millis:5000}")
+    public void recoverOrphanedRooms() {
+        for (Long roomId : redisUtil.getStartedLobbyRoomIds()) {
+            if (roundService.hasGameLoop(roomId) || redisUtil.getRoomOwner(roomId) != null)
+                continue;
+
+            try {
+                recover(roomId);
+            } catch (Exception e) {
+                log.error("[RECOVERY] failed to recover roomId={}", roomId, e);
+            }
+        }
+    }
+
+    private void recover(Long roomId) {
+        if (!roundService.claimRoom(roomId))
+            return;
+
+        try {
+            resumeOrAbort(roomId);
+        } catch (RuntimeException e) {
+            roundService.releaseRoom(roomId);
+            throw e;
+        }
+    }
+
+    private void resumeOrAbort(Long roomId) {
+        Long roundId = redisUtil.getCurrentRoundId(roomId);
+        if (roundId == null) {
+            log.warn("[RECOVERY] no round to resume, ending game roomId={}", roomId);
+            roundFacade.abortGame(roomId, null);
+            return;
+        }
+
+        Round round = roundService.findById(roundId);
+        if (round.isDeleted()) {
+            startNextRound(roomId, round);
+            return;
+        }
+
+        RoomState state = restoreState(roomId, roundId);
+        if (state == null || state.getAliveCount() <= 1) {
+            log.warn("[RECOVERY] round cannot be resumed, ending game roomId={} roundId={}", roomId, roundId);
+            roundFacade.abortGame(roomId, roundId);
+            return;
+        }
+
+        roundService.runGameLoop(roomId, round, state, roundService.findGameRoundIds(roomId, round));
+        log.info("[RECOVERY] resumed roomId={} roundId={} alive={}", roomId, roundId, state.getAliveCount());
+
+        sendRoundStatus(roomId, round.getRoundNumber());
+    }
+
+    /**
+     * 정산이 끝난 라운드에서 멈춘 방. 마지막 라운드였으면 최종 결과를 보내지 못한 채 게임만 끝낸다.
+     */
+    private void startNextRound(Long roomId, Round finished) {
+        if (finished.getRoundNumber() >= 3) {
+            log.warn("[RECOVERY] last round already finished, ending game roomId={} roundId={}", roomId, finished.getId());
+            roundFacade.abortGame(roomId, null);
+            return;
+        }
+
+        Round round = roundFacade.startNextRound(finished);
+        RoomState state = roundFacade.initializeGameStatuses(roomId, round);
+        roundService.runGameLoop(roomId, round, state, roundService.findGameRoundIds(roomId, round));
+        log.info("[RECOVERY] started next round after break roomId={} roundId={}", roomId, round.getId());
+
+        sendRoundStatus(roomId, round.getRoundNumber());
+    }
+
+    /**
+     * 게임 루프가 이미 클릭을 처리하고 있으므로 상태는 게임 루프에서 읽어 보낸다.
+     */
+    private void sendRoundStatus(Long roomId, int roundNumber) {
+        roundService.submitToGameLoop(roomId, state -> {
+            roundFacade.sendDashBoard(roomId, roundService.getSummaryCount(state, roundNumber));
+            rankFacade.sendRank(roomId, state.getRanks());
+        });
+    }
+
+    /**
+     * @return 라운드의 스냅샷이 없으면 null
+     */
+    private RoomState restoreState(Long roomId, Long roundId) {
+        Map<String, PlayerInfo> players = redisUtil.getData("roomId:" + roomId + ":users", PlayerInfo.class);
+        if (players.isEmpty())
+            return null;
+
+        Map<Long, Integer> kills = new HashMap<>();
+        redisUtil.getData("roomId:" + roomId + ":ranks", RankInfo.class)
+                .values()
+                .forEach(rank -> kills.put(rank.getUserId(), rank.getKillCnt()));
+
+        List<DeathInfo> deaths = new ArrayList<>(redisUtil.getData("roomId:" + roomId + ":deaths", DeathInfo.class).values());
+        return RoomState.restore(roundId, new ArrayList<>(players.values()), kills, deaths);
+    }
+}
@@ -7,10 +7,9 @@ import com.wak.game.application.response.SummaryCountResponse;
 import com.wak.game.application.response.socket.*;
 import com.wak.game.application.vo.RoomVO;
 import com.wak.game.domain.player.Player;
+import com.wak.game.domain.player.PlayerResultWriter;
 import com.wak.game.domain.player.PlayerService;
 import com.wak.game.domain.player.dto.PlayerInfo;
-import com.wak.game.domain.playerLog.PlayerLog;
-import com.wak.game.domain.playerLog.PlayerLogService;
 import com.wak.game.domain.rank.dto.RankInfo;
 import com.wak.game.domain.room.dto.RoomInfo;
 import com.wak.game.domain.room.Room;
@@ -18,21 +17,30 @@ import com.wak.game.domain.room.RoomService;
 import com.wak.game.domain.round.Round;
 import com.wak.game.domain.round.RoundService;
 import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.domain.round.state.RoomState;
+import com.wak.game.domain.round.state.RoundResult;
+import com.wak.game.domain.round.thread.ClickStreamReader;
+import com.wak.game.domain.round.thread.GameLoopScheduler;
 import com.wak.game.domain.user.User;
 import com.wak.game.domain.user.UserService;
 import com.wak.game.global.error.ErrorInfo;
 import com.wak.game.global.error.exception.BusinessException;
+import com.wak.game.global.metrics.GameMetrics;
 import com.wak.game.global.util.RedisUtil;
 import com.wak.game.global.util.SocketUtil;
 import com.wak.game.global.util.TimeUtil;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -47,36 +55,53 @@ public class RoundFacade {
 
     private final RoundService roundService;
     private final PlayerService playerService;
-    private final PlayerLogService playerLogService;
+    private final PlayerResultWriter playerResultWriter;
     private final RoomService roomService;
     private final UserService userService;
     private final RedisUtil redisUtil;
     private final SocketUtil socketUtil;
     private final TimeUtil timeUtil;
+    private final GameLoopScheduler gameLoopScheduler;
+    private final GameMetrics gameMetrics;
     private final Lock lock = new ReentrantLock();
 
+    /**
+     * 방을 게임 중으로 표시하기 전에 lease 를 얻는다. 게임 루프가 뜨기 전에 다른 노드의 복구가 이 방을 소유자 없는 방으로 보지 않게 한다.
+     * 시작하지 못하면 lease 를 해제하고, 게임 중으로 남은 방은 복구가 정리한다.
+     */
     public GameStartResponse startGame(GameStartRequest gameStartRequest, Long roomId, Long userId) {
         User user = userService.findById(userId);
         Room room = roomService.findById(roomId);
 
         roomService.isHost(user, room);
         roomService.isInGame(room);
+        roundService.checkGameLoopCapacity();
 
-        RoomInfo roomInfo = redisUtil.getLobbyRoomInfo(room.getId());
+        if (!roundService.claimRoom(room.getId()))
+            throw new BusinessException(ErrorInfo.ROOM_OWNED_BY_OTHER_NODE);
+
+        try {
+            RoomInfo roomInfo = redisUtil.getLobbyRoomInfo(room.getId());
 
-        roomInfo.gameStart();
-        redisUtil.saveData("roomInfo", String.valueOf(room.getId()), roomInfo);
-        redisUtil.saveData("mention", String.valueOf(room.getId()), gameStartRequest.getComment());
+            roomInfo.gameStart();
+            socketUtil.updateLobby(room.getId(), () -> redisUtil.saveLobbyRoom(roomInfo));
+            redisUtil.saveMention(room.getId(), gameStartRequest.getComment());
 
-        roomService.gameStart(room);
-        return startRound(gameStartRequest, room);
+            roomService.gameStart(room);
+            return startRound(gameStartRequest, room);
+        } catch (RuntimeException e) {
+            roundService.releaseRoom(room.getId());
+            throw e;
+        }
     }
 
     public GameStartResponse startRound(GameStartRequest gameStartRequest, Room room) {
+        Timer.Sample sample = gameMetrics.start();
         Round round = roundService.startRound(room, gameStartRequest);
-        int playerCnt = initializeGameStatuses(room.getId(), round);
+        RoomState state = initializeGameStatuses(room.getId(), round);
 
-        roundService.startThread(room.getId(), round.getId(), playerCnt);
+        roundService.runGameLoop(room.getId(), round, state, List.of(round.getId()));
+        gameMetrics.stopRoundStart(sample);
 
         socketUtil.sendMessage("/rooms/" + room.getId().toString(), new RoundInfoResponse(round.getId(), round.getShowNickname()));
 
@@ -84,13 +109,16 @@ public class RoundFacade {
     }
 
     @Transactional
-    public int initializeGameStatuses(Long roomId, Round round) {
-        System.out.println("\n\n------PLAYER, RANK 초기화-----");
+    public RoomState initializeGameStatuses(Long roomId, Round round) {
+        log.debug("[ROUND] initialize players roomId={} roundId={}", roomId, round.getId());
         Room room = roomService.findById(roomId);
         Map<String, RoomVO> map = redisUtil.getRoomUsersInfo(room.getId());
+        Map<Long, User> users = userService.findAllById(map.values().stream().map(RoomVO::userId).toList());
 
         List<Player> players = new ArrayList<>();
         List<PlayerInfo> p = new ArrayList<>();
+        Map<String, Object> gameUsers = new HashMap<>();
+        Map<String, Object> rankInfos = new HashMap<>();
 
         for (Map.Entry<String, RoomVO> entry : map.entrySet()) {
             RoomVO roomUser = entry.getValue();
@@ -103,13 +131,12 @@ public class RoundFacade {
                     .build();
             p.add(gameUser);
 
-            String userKey = "roomId:" + room.getId() + ":users";
-            String rankKey = "roomId:" + room.getId() + ":ranks";
-
-            redisUtil.saveData(userKey, roomUser.userId().toString(), gameUser);
-            redisUtil.saveData(rankKey, roomUser.userId().toString(), rankInfo);
+            gameUsers.put(roomUser.userId().toString(), gameUser);
+            rankInfos.put(roomUser.userId().toString(), rankInfo);
 
-            User user = userService.findById(roomUser.userId());
+            User user = users.get(roomUser.userId());
+            if (user == null)
+                throw new BusinessException(ErrorInfo.USER_NOT_EXIST);
 
             Player player = Player.builder()
                     .user(user)
@@ -126,22 +153,30 @@ public class RoundFacade {
             players.add(player);
         }
 
+        redisUtil.saveAllData(Map.of(
+                "roomId:" + room.getId() + ":users", gameUsers,
+                "roomId:" + room.getId() + ":ranks", rankInfos
+        ));
+
         BattleFeildInGameResponse battleFeildInGameResponse = new BattleFeildInGameResponse(false, p);
 
         playerService.savePlayers(players);
 
-        redisUtil.saveData("room:round", room.getId().toString(), round.getId());
+        redisUtil.saveCurrentRoundId(room.getId(), round.getId());
         socketUtil.sendMessage("/games/" + room.getId().toString() + "/battle-field", battleFeildInGameResponse);
-        return players.size();
+        return RoomState.of(round.getId(), p);
     }
 
     public Round startNextRound(Round previousRound) {
         return roundService.startNextRound(previousRound);
     }
 
+    /**
+     * 라운드를 끝내고 결과를 게임 루프의 상태로 만든다. Player 와 PlayerLog 는 PlayerResultWriter 가 게임 루프 밖에서 저장한다.
+     */
     @Transactional
-    public void endRound(Long roomId, Long roundId) {
-        System.out.println("\n\n player업데이트 하는 메서드");
+    public RoundResult endRound(Long roomId, Long roundId, RoomState state) {
+        log.debug("[ROUND] settle players roomId={} roundId={}", roomId, roundId);
         Round round = roundService.findById(roundId);
         round.finish();
         roundService.save(round);
@@ -149,98 +184,48 @@ public class RoundFacade {
         Room room = roomService.findById(round.getRoom().getId());
         roomService.isNotInGame(room);
 
-        List<ClickDTO> attacks = redisUtil.getListData("roomId:" + roomId + ":availableClicks", ClickDTO.class);
-        Map<Long, Player> playerMap = playerService.getPlayerMap(roundId);
-
-        Long startTime = timeUtil.toNanoOfEpoch(round.getCreatedAt());
-
-        if (round.getRoundNumber() != 1) {
-            startTime -= 30 * 1_000_000_000L;
-        }
-
-        for (ClickDTO attack : attacks) {
-            Long murderId = attack.getUserId();
-            Player murderPlayer = playerMap.get(murderId);
-            Long victimId = attack.getVictimId();
-            Player victimPlayer = playerMap.get(victimId);
+        RoundResult result = RoundResult.of(round.getId(), round.getRoundNumber(), round.getCreatedAt(), LocalDateTime.now(),
+                timeUtil.toNanoOfEpoch(round.getCreatedAt()), state);
 
-            if (victimPlayer == null && murderPlayer == null)
-                throw new BusinessException(ErrorInfo.PLAYER_NOT_FOUND);
-
-            Long attackTime = attack.getNanoSec();
-            long aliveTime = attackTime - startTime;
-
-            victimPlayer.updateOnAttack(murderPlayer, Long.toString(aliveTime));
-            playerService.save(victimPlayer);
-        }
-
-
-        updateRanks(room, playerMap);
+        List<ClickDTO> clicks = redisUtil.getStreamData(ClickStreamReader.keyOf(roomId), ClickDTO.class).stream()
+                .filter(click -> roundId.equals(click.getRoundId()))
+                .collect(Collectors.toList());
+        playerResultWriter.submit(result, clicks);
 
-        savePlayerLogs(roomId, roundId);
         clearRedis(roomId);
+        return result;
     }
 
-    @Transactional
-    public void sendResult(Long roomId, Long roundId, Long nextRoundId, Long round1Id, Long round2Id, Long round3Id) { // 변경된 부분
-        Round round = roundService.findById(roundId);
-        int playTime;
-
-        if (round.getRoundNumber() == 1) {
-            playTime = (int) ChronoUnit.SECONDS.between(round.getUpdatedAt(), round.getCreatedAt());
-        } else {
-            playTime = (int) ChronoUnit.SECONDS.between(round.getUpdatedAt(), round.getCreatedAt()) - 30;
-        }
-        playTime = Math.abs(playTime);
-
+    /**
+     * 라운드 결과를 보낸다. 3 라운드면 게임 전체의 최종 결과도 함께 보낸다.
+     *
+     * @param gameResults 이번 게임에서 이 노드가 진행한 라운드의 결과. 다른 노드에서 넘겨받은 게임이라 이전 라운드가 없으면 DB 에서 읽는다
+     */
+    public void sendResult(Long roomId, RoundResult result, Long nextRoundId, List<RoundResult> gameResults, Long round1Id, Long round2Id, Long round3Id) {
+        int playTime = result.playTimeSeconds();
         List<ResultResponse> results = new ArrayList<>();
 
-        Map<Long, Player> playerMap = playerService.getPlayerMap(roundId);
-
-        for (Player player : playerMap.values()) {
-            Player murderPlayer = player.getMurderPlayer();
-
-            if (murderPlayer == null) {
-                results.add(new ResultResponse(
-                        player.getUser().getId(),
-                        player.getRank(),
-                        player.getKillCount(),
-                        playTime,
-                        timeUtil.nanoToDouble(Long.parseLong(player.getAliveTime())),
-                        "",
-                        ""
-                ));
-                continue;
-            }
-
-            User murderUser = userService.findById(murderPlayer.getUser().getId());
-            String murderNickname = murderUser.getNickname();
-            String murderColor = murderUser.getColor().getHexColor();
-
-            User playerUser = userService.findById(player.getUser().getId());
-
+        for (RoundResult.PlayerResult player : result.players()) {
             results.add(new ResultResponse(
-                    player.getUser().getId(),
-                    player.getRank(),
-                    player.getKillCount(),
+                    player.userId(),
+                    player.rank(),
+                    player.killCount(),
                     playTime,
-                    timeUtil.nanoToDouble(Long.parseLong(player.getAliveTime())),
-                    murderNickname,
-                    murderColor
+                    timeUtil.nanoToDouble(player.aliveNanos()),
+                    player.murdererId() == null ? "" : player.murdererNickname(),
+                    player.murdererId() == null ? "" : player.murdererColor()
             ));
-
         }
 
         List<FinalResultResponse> finals = null;
         if (round3Id != null) {
-            finals = getFinalResult(round1Id, round2Id, round3Id);
+            finals = gameResults.size() == 3 ? getFinalResult(gameResults) : getFinalResult(round1Id, round2Id, round3Id);
             finals.sort(Comparator.comparingInt(FinalResultResponse::getFinalRank).reversed());
         }
 
-        System.out.println("RoundEndResultResponse반환");
         socketUtil.sendMessage("/games/" + roomId + "/battle-field",
                 new RoundEndResultResponse(true,
-                        round.getRoundNumber(),
+                        result.roundNumber(),
                         nextRoundId,
                         results,
                         finals
@@ -248,10 +233,43 @@ public class RoundFacade {
         );
     }
 
-    private List<FinalResultResponse> getFinalResult(Long round1Id, Long round2Id, Long round3Id) {
+    private List<FinalResultResponse> getFinalResult(List<RoundResult> rounds) {
+        int totalGameTime = rounds.stream().mapToInt(RoundResult::gameTimeSeconds).sum();
+
+        Map<Long, RoundResult.PlayerResult> firstRound = new LinkedHashMap<>();
+        Map<Long, Integer> killCounts = new HashMap<>();
+        Map<Long, Long> aliveNanos = new HashMap<>();
+        for (RoundResult.PlayerResult player : rounds.get(0).players()) {
+            firstRound.put(player.userId(), player);
+        }
+
+        for (RoundResult round : rounds) {
+            for (RoundResult.PlayerResult player : round.players()) {
+                if (!firstRound.containsKey(player.userId()))
+                    continue;
+                killCounts.merge(player.userId(), player.killCount(), Integer::sum);
+                aliveNanos.merge(player.userId(), player.aliveNanos(), Long::sum);
+            }
+        }
+
+        List<FinalResultResponse> finalResults = new ArrayList<>();
+        for (Long userId : firstRound.keySet()) {
+            finalResults.add(new FinalResultResponse(userId, totalGameTime, timeUtil.nanoToDouble(aliveNanos.get(userId)), killCounts.get(userId)));
+        }
+
+        finalResults.sort(Comparator.comparing(FinalResultResponse::getTotalKillCount).reversed()
+                .thenComparing(FinalResultResponse::getTotalAliveTime));
 
-        System.out.println("3라운드라서 최종결과 추가");
+        RoundResult.PlayerResult winner = finalResults.isEmpty() ? null : firstRound.get(finalResults.get(0).getUserId());
+        for (int i = 0; i < finalResults.size(); i++) {
+            finalResults.get(i).updateRank(i + 1);
+            finalResults.get(i).updateWinner(winner.color(), winner.nickname());
+        }
+
+        return finalResults;
+    }
 
+    private List<FinalResultResponse> getFinalResult(Long round1Id, Long round2Id, Long round3Id) {
         List<FinalResultResponse> finalResults = new ArrayList<>();
 
         Map<Long, Player> playerR1Map = playerService.getPlayerMap(round1Id);
@@ -310,50 +328,27 @@ public class RoundFacade {
         }
     }
 
-    private void savePlayerLogs(Long roomId, Long roundId) {
-        List<ClickDTO> data = redisUtil.getListData("roomId:" + roomId + ":clicks", ClickDTO.class);
-
-        if (data == null || data.isEmpty()) {
-            throw new BusinessException(ErrorInfo.ClICK_LOG_IS_EMPTY);
-        }
-
-        Map<Long, Player> playerMap = playerService.getPlayerMap(roundId);
-
-        List<PlayerLog> logs = data.stream()
-                .map(click -> playerLogService.createPlayerLog(click, playerMap))
-                .collect(Collectors.toList());
-
-        playerLogService.saveAll(logs);
-    }
-
-
-    @Transactional
-    protected void updateRanks(Room room, Map<Long, Player> playersMap) {
-        Map<String, RankInfo> ranks = redisUtil.getData("roomId:" + room.getId() + ":ranks", RankInfo.class);
-
-        List<RankInfo> sortedRanks = new ArrayList<>(ranks.values());
-        sortedRanks.sort((r1, r2) -> Integer.compare(r2.getKillCnt(), r1.getKillCnt()));
-
-        int rank = 1;
-        for (RankInfo rankInfo : sortedRanks) {
-            Long userId = rankInfo.getUserId();
-            Player player = playersMap.get(userId);
-
-            if (player == null)
-                throw new BusinessException(ErrorInfo.PLAYER_NOT_FOUND);
-
-            player.updateRankAncKillCnt(rankInfo.getKillCnt(), rank++);
-            playerService.save(player);
-        }
-    }
-
     private void clearRedis(Long roomId) {
         String firstKey = "roomId:" + roomId;
 
         redisUtil.deleteKey(firstKey + ":users");
         redisUtil.deleteKey(firstKey + ":ranks");
-        redisUtil.deleteKey(firstKey + ":clicks");
-        redisUtil.deleteKey(firstKey + ":availableClicks");
+        redisUtil.deleteKey(firstKey + ":deaths");
+        redisUtil.trimStream(ClickStreamReader.keyOf(roomId), 0);
+    }
+
+    /**
+     * 이어서 진행할 수 없는 게임을 끝낸다. 진행 중이던 라운드는 끝난 것으로 표시하고 Redis 의 라운드 상태를 지운다.
+     */
+    public void abortGame(Long roomId, Long roundId) {
+        if (roundId != null) {
+            Round round = roundService.findById(roundId);
+            round.finish();
+            roundService.save(round);
+        }
+
+        clearRedis(roomId);
+        endGame(roomId);
     }
 
     public void endGame(Long roomId) {
@@ -362,11 +357,11 @@ public class RoundFacade {
 
         roomInfo.gameEnd();
         roomService.gameEnd(room);
-        redisUtil.saveData("roomInfo", String.valueOf(room.getId()), roomInfo);
-
-        roundService.endThread(roomId);
         //todo 로비 vs 게임대기실
-        socketUtil.sendRoomList();
+        socketUtil.updateLobby(roomId, () -> redisUtil.saveLobbyRoom(roomInfo));
+        redisUtil.deleteKey(List.of("roomId:" + roomId + ":round", "roomId:" + roomId + ":mention", RedisUtil.appliedKeyOf(roomId)));
+
+        roundService.endGameLoop(roomId);
     }
 
     public void sendDashBoard(long roomId, int roundNumber) {
@@ -374,6 +369,10 @@ public class RoundFacade {
         socketUtil.sendMessage("/games/" + roomId + "/dashboard", summaryCount);
     }
 
+    public void sendDashBoard(long roomId, SummaryCountResponse summaryCount) {
+        socketUtil.sendMessage("/games/" + roomId + "/dashboard", summaryCount);
+    }
+
     public void sendBattleField(long roomId, boolean isFinished) {
         roomService.findById(roomId);
 
@@ -389,9 +388,12 @@ public class RoundFacade {
         socketUtil.sendMessage("/games/" + roomId + "/battle-field", new BattleFeildInGameResponse(isFinished, players));
     }
 
+    public void sendBattleField(long roomId, boolean isFinished, List<PlayerInfo> players) {
+        socketUtil.sendMessage("/games/" + roomId + "/battle-field", new BattleFeildInGameResponse(isFinished, players));
+    }
+
     public void sendMention(Long roomId) {
-        Map<String, String> mentions = redisUtil.getData("mention", String.class);
-        String mention = mentions.get(roomId.toString());
+        String mention = redisUtil.getMention(roomId);
         Room room = roomService.findById(roomId);
         User host = room.getUser();
         socketUtil.sendMessage("/games/" + roomId + "/mention", new MentionResponse(mention, host.getNickname(), host.getColor().getHexColor()));
@@ -410,15 +412,8 @@ public class RoundFacade {
     }
 
     public void sendTime(Long roomId, int time) {
-        new Thread(() -> {
-            try {
-                for (int sec = time; sec >= 0; sec--) {
-                    socketUtil.sendMessage("/games/" + roomId + "/time", new TimeResponse(sec));
-                    Thread.sleep(1000);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }).start();
+        gameLoopScheduler.countDown(roomId, time,
+                sec -> socketUtil.sendMessage("/games/" + roomId + "/time", new TimeResponse(sec)),
+                null);
     }
 }
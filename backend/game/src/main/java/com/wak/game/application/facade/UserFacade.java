@@ -31,7 +31,7 @@ public class UserFacade {
         Color color = colorService.findById(color_id);
 
         User user = userService.save(request.nickname(), color);
-        String token = jwtUtils.createJwt(user.getId());
+        String token = jwtUtils.createJwt(user.getId(), user.getNickname());
         return UserLogInResponse.of(token, color.getHexColor());
     }
 
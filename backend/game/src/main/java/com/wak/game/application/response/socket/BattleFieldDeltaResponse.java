@@ -0,0 +1,12 @@
+package com.wak.game.application.response.socket;
+
+import java.util.List;
+
+/**
+ * 마지막 브로드캐스트 이후 stamina 가 바뀐 플레이어만 담는다.
+ */
+public record BattleFieldDeltaResponse(Long roundId, long seq, List<StaminaDelta> players) {
+
+    public record StaminaDelta(Long userId, int stamina) {
+    }
+}
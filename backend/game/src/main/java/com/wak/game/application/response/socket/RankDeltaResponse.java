@@ -0,0 +1,12 @@
+package com.wak.game.application.response.socket;
+
+import java.util.List;
+
+/**
+ * 마지막 브로드캐스트 이후 순위나 kill 수가 바뀐 플레이어만 담는다. rank 는 0 부터 시작한다.
+ */
+public record RankDeltaResponse(Long roundId, long seq, List<RankDelta> ranks) {
+
+    public record RankDelta(Long userId, int killCnt, int rank) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.wak.game.domain.clickLog;
+
+import com.wak.game.domain.round.Round;
+import com.wak.game.global.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 라운드 하나의 클릭 기록. 형식은 ClickLogCodec 을 따른다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "click_logs")
+public class ClickLog extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "click_log_id")
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "round_id", nullable = false, unique = true)
+    private Round round;
+
+    @Column(name = "click_count", nullable = false)
+    private int clickCount;
+
+    @Lob
+    @Column(name = "data", nullable = false, length = 16_777_215)
+    private byte[] data;
+
+    @Builder
+    public ClickLog(Round round, int clickCount, byte[] data) {
+        this.round = round;
+        this.clickCount = clickCount;
+        this.data = data;
+    }
+}
@@ -0,0 +1,144 @@
+package com.wak.game.domain.clickLog;
+
+import com.wak.game.domain.clickLog.dto.ClickLogEntry;
+import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.global.codec.CodecInput;
+import com.wak.game.global.codec.CodecOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 라운드의 클릭 기록을 byte 배열 하나로 바꾼다.
+ * userId, victimId, 서버 시각은 직전 클릭과의 차이를, 클라이언트 시각은 서버 시각과의 차이를 가변 길이 정수로 쓰고 deflate 로 압축한다.
+ * 같은 플레이어가 연달아 클릭하고 시각이 촘촘하므로 클릭 하나가 보통 몇 byte 로 줄어든다.
+ */
+public final class ClickLogCodec {
+    private static final int VERSION = 1;
+    private static final int CLIENT_TIME_NONE = 0;
+    private static final int CLIENT_TIME_OFFSET = 1;
+    private static final int CLIENT_TIME_TEXT = 2;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final DateTimeFormatter CLIENT_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSX").withZone(ZoneOffset.UTC);
+
+    private ClickLogCodec() {
+    }
+
+    public static byte[] encode(List<ClickDTO> clicks) {
+        CodecOutput out = new CodecOutput(16 + clicks.size() * 8);
+        out.writeByte(VERSION);
+        out.writeVarInt(clicks.size());
+
+        long userId = 0;
+        long victimId = 0;
+        long serverNanos = 0;
+        for (ClickDTO click : clicks) {
+            long nanos = click.getNanoSec() == null ? serverNanos : click.getNanoSec();
+            out.writeVarLong(click.getUserId() - userId);
+            out.writeVarLong(click.getVictimId() - victimId);
+            out.writeVarLong(nanos - serverNanos);
+            writeClientTime(out, click.getTime(), nanos);
+
+            userId = click.getUserId();
+            victimId = click.getVictimId();
+            serverNanos = nanos;
+        }
+        return deflate(out.toByteArray());
+    }
+
+    public static List<ClickLogEntry> decode(byte[] data) {
+        CodecInput in = new CodecInput(inflate(data), 0);
+        int version = in.readByte();
+        if (version != VERSION)
+            throw new IllegalArgumentException("unsupported click log version: " + version);
+
+        int count = in.readVarInt();
+        List<ClickLogEntry> entries = new ArrayList<>(count);
+        long userId = 0;
+        long victimId = 0;
+        long serverNanos = 0;
+        for (int i = 0; i < count; i++) {
+            userId += in.readVarLong();
+            victimId += in.readVarLong();
+            serverNanos += in.readVarLong();
+            entries.add(new ClickLogEntry(userId, victimId, readClientTime(in, serverNanos), serverNanos));
+        }
+        return entries;
+    }
+
+    /**
+     * 브라우저의 toISOString() 형식이면 서버 시각과의 ms 차이로, 아니면 문자열 그대로 쓴다.
+     */
+    private static void writeClientTime(CodecOutput out, String clientTime, long serverNanos) {
+        if (clientTime == null) {
+            out.writeVarInt(CLIENT_TIME_NONE);
+            return;
+        }
+
+        try {
+            Instant instant = Instant.from(CLIENT_TIME_FORMAT.parse(clientTime));
+            if (CLIENT_TIME_FORMAT.format(instant).equals(clientTime)) {
+                out.writeVarInt(CLIENT_TIME_OFFSET);
+                out.writeVarLong(instant.toEpochMilli() - serverNanos / NANOS_PER_MILLI);
+                return;
+            }
+        } catch (DateTimeParseException ignored) {
+        }
+
+        out.writeVarInt(CLIENT_TIME_TEXT);
+        out.writeString(clientTime);
+    }
+
+    private static String readClientTime(CodecInput in, long serverNanos) {
+        return switch (in.readVarInt()) {
+            case CLIENT_TIME_NONE -> null;
+            case CLIENT_TIME_OFFSET -> CLIENT_TIME_FORMAT.format(Instant.ofEpochMilli(serverNanos / NANOS_PER_MILLI + in.readVarLong()));
+            case CLIENT_TIME_TEXT -> in.readString();
+            default -> throw new IllegalArgumentException("malformed click log client time");
+        };
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    throw new IllegalArgumentException("truncated click log");
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("malformed click log", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.wak.game.domain.clickLog;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ClickLogRepository extends JpaRepository<ClickLog, Long> {
+    Optional<ClickLog> findByRoundId(Long roundId);
+}
@@ -0,0 +1,38 @@
+package com.wak.game.domain.clickLog;
+
+import com.wak.game.domain.clickLog.dto.ClickLogEntry;
+import com.wak.game.domain.round.RoundRepository;
+import com.wak.game.domain.round.dto.ClickDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ClickLogService {
+    private final ClickLogRepository clickLogRepository;
+    private final RoundRepository roundRepository;
+
+    /**
+     * 라운드의 클릭 기록을 한 row 로 저장한다.
+     */
+    public void save(Long roundId, List<ClickDTO> clicks) {
+        clickLogRepository.save(ClickLog.builder()
+                .round(roundRepository.getReferenceById(roundId))
+                .clickCount(clicks.size())
+                .data(ClickLogCodec.encode(clicks))
+                .build());
+    }
+
+    /**
+     * @return 서버가 받은 순서의 클릭 기록, 저장된 기록이 없으면 빈 List
+     */
+    @Transactional(readOnly = true)
+    public List<ClickLogEntry> readClicks(Long roundId) {
+        return clickLogRepository.findByRoundId(roundId)
+                .map(clickLog -> ClickLogCodec.decode(clickLog.getData()))
+                .orElseGet(List::of);
+    }
+}
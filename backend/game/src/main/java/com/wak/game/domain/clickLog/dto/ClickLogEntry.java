@@ -0,0 +1,10 @@
+package com.wak.game.domain.clickLog.dto;
+
+/**
+ * 클릭 기록 하나.
+ *
+ * @param clientTime  클라이언트가 보낸 클릭 시각 (ISO-8601), 없으면 null
+ * @param serverNanos 서버가 클릭을 받은 시각 (epoch nanos)
+ */
+public record ClickLogEntry(long userId, long victimId, String clientTime, long serverNanos) {
+}
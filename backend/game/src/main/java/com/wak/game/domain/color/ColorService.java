@@ -1,8 +1,10 @@
 package com.wak.game.domain.color;
 
+import com.wak.game.global.config.CacheConfig;
 import com.wak.game.global.error.ErrorInfo;
 import com.wak.game.global.error.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
@@ -10,6 +12,7 @@ public class ColorService {
 
     private final ColorRepository colorRepository;
 
+    @Cacheable(cacheNames = CacheConfig.COLORS, key = "#id")
     public Color findById(long id){
         return colorRepository.findById(id).orElseThrow(() -> new BusinessException(ErrorInfo.COLOR_NOT_EXIST));
     }
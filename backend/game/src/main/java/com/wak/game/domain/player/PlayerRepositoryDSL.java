@@ -1,11 +1,11 @@
 package com.wak.game.domain.player;
 
-import com.wak.game.domain.room.Room;
-import com.wak.game.domain.user.User;
-
-import java.util.Optional;
+import java.util.List;
 
 public interface PlayerRepositoryDSL {
 
-
+    /**
+     * IDENTITY id 라 saveAll 은 row 마다 INSERT 를 보내므로, 라운드의 Player 를 multi-row INSERT 하나로 넣는다.
+     */
+    void insertAll(List<Player> players);
 }
@@ -1,18 +1,39 @@
 package com.wak.game.domain.player;
 
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import com.wak.game.domain.room.Room;
-import com.wak.game.domain.room.RoomRepositoryDSL;
-import com.wak.game.domain.user.User;
+import com.wak.game.global.entity.EntityColumns;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 
-import java.util.Optional;
-
-import static com.wak.game.domain.room.QRoom.room;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * insertAll 은 JDBC batch 로 넣는다. rewriteBatchedStatements 를 켜면 드라이버가 multi-row INSERT 로 합친다.
+ */
 @RequiredArgsConstructor
 public class PlayerRepositoryDSLImpl implements PlayerRepositoryDSL {
+    static final EntityColumns<Player> COLUMNS = EntityColumns.of(Player.class);
+    private static final String INSERT = COLUMNS.insertSql();
 
     private final JPAQueryFactory query;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<Player> players) {
+        if (players.isEmpty())
+            return;
+
+        PersistenceUnitUtil units = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> args = new ArrayList<>(players.size());
+        for (Player player : players)
+            args.add(COLUMNS.values(player, units::getIdentifier, now));
 
+        jdbcTemplate.batchUpdate(INSERT, args);
+    }
 }
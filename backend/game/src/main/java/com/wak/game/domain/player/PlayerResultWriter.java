@@ -0,0 +1,194 @@
+package com.wak.game.domain.player;
+
+import com.wak.game.domain.clickLog.ClickLogService;
+import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.domain.round.state.RoundResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 라운드 결과의 Player 갱신과 클릭 기록 저장을 게임 루프 밖에서 실행한다.
+ * 라운드마다 한 transaction 으로 쓰고, hibernate.jdbc.batch_size 단위의 JDBC batch 로 반영된다.
+ * 실패하면 maxAttempts 까지 다시 시도하고, 대기열이 가득 차면 호출한 스레드에서 바로 쓴다.
+ */
+@Slf4j
+@Component
+public class PlayerResultWriter implements MeterBinder {
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final PlayerService playerService;
+    private final ClickLogService clickLogService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<RoundWrite> queue;
+    private final int maxAttempts;
+    private volatile boolean running = true;
+    private Thread worker;
+    private Counter writtenCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+    private Counter overflowCounter;
+    private Timer writeTimer;
+
+    public PlayerResultWriter(PlayerService playerService,
+                              ClickLogService clickLogService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${game.persistence.queue-capacity:1000}") int queueCapacity,
+                              @Value("${game.persistence.max-attempts:3}") int maxAttempts) {
+        this.playerService = playerService;
+        this.clickLogService = clickLogService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxAttempts = maxAttempts;
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::run, "player-result-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * @param clicks 라운드의 클릭 기록. ClickLog 한 row 로 저장된다
+     */
+    public void submit(RoundResult result, List<ClickDTO> clicks) {
+        RoundWrite write = new RoundWrite(result, clicks);
+        if (queue.offer(write))
+            return;
+
+        if (overflowCounter != null)
+            overflowCounter.increment();
+        log.warn("[PERSIST] queue is full, writing on caller thread roundId={}", result.roundId());
+        writeWithRetry(write);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                RoundWrite write = queue.poll(1, TimeUnit.SECONDS);
+                if (write != null)
+                    writeWithRetry(write);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeWithRetry(RoundWrite write) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                Timer.Sample sample = Timer.start();
+                transactionTemplate.executeWithoutResult(status -> write(write));
+                if (writeTimer != null)
+                    sample.stop(writeTimer);
+                if (writtenCounter != null)
+                    writtenCounter.increment();
+                return;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    if (failedCounter != null)
+                        failedCounter.increment();
+                    log.error("[PERSIST] giving up on round result roundId={}", write.result().roundId(), e);
+                    return;
+                }
+
+                if (retriedCounter != null)
+                    retriedCounter.increment();
+                log.warn("[PERSIST] write failed, retrying roundId={} attempt={}", write.result().roundId(), attempt, e);
+                if (!backOff(attempt))
+                    return;
+            }
+        }
+    }
+
+    private void write(RoundWrite write) {
+        Map<Long, Player> players = playerService.getPlayerMap(write.result().roundId());
+
+        for (RoundResult.PlayerResult result : write.result().players()) {
+            Player player = players.get(result.userId());
+            if (player == null) {
+                log.warn("[PERSIST] player not found roundId={} userId={}", write.result().roundId(), result.userId());
+                continue;
+            }
+
+            if (result.stamina() <= 0)
+                player.updateOnAttack(players.get(result.murdererId()), Long.toString(result.aliveNanos()));
+            player.updateRankAncKillCnt(result.killCount(), result.rank());
+        }
+
+        List<ClickDTO> clicks = write.clicks().stream()
+                .filter(click -> players.containsKey(click.getUserId()))
+                .toList();
+        clickLogService.save(write.result().roundId(), clicks);
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("game.persistence.queue.depth", queue, BlockingQueue::size)
+                .description("Round results waiting to be written to the database")
+                .register(registry);
+        writtenCounter = Counter.builder("game.persistence.written")
+                .description("Round results written to the database")
+                .register(registry);
+        retriedCounter = Counter.builder("game.persistence.retried")
+                .description("Round result writes that failed and were retried")
+                .register(registry);
+        failedCounter = Counter.builder("game.persistence.failed")
+                .description("Round results dropped after the last retry failed")
+                .register(registry);
+        overflowCounter = Counter.builder("game.persistence.overflow")
+                .description("Round results written on the caller thread because the queue was full")
+                .register(registry);
+        writeTimer = Timer.builder("game.persistence.write")
+                .description("Time to write one round's players and logs")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * 남은 결과를 모두 쓸 때까지 기다린 뒤 종료한다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (worker != null)
+            worker.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+        if (!queue.isEmpty())
+            log.error("[PERSIST] {} round results were not written before shutdown", queue.size());
+    }
+
+    private record RoundWrite(RoundResult result, List<ClickDTO> clicks) {
+    }
+}
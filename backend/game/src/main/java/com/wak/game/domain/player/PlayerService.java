@@ -4,11 +4,9 @@ import com.wak.game.application.response.PlayerInfoResponse;
 import com.wak.game.domain.player.dto.PlayerInfo;
 import com.wak.game.domain.room.Room;
 import com.wak.game.domain.round.Round;
-import com.wak.game.domain.round.dto.ClickDTO;
 import com.wak.game.domain.user.User;
 import com.wak.game.global.error.ErrorInfo;
 import com.wak.game.global.error.exception.BusinessException;
-import com.wak.game.global.util.RedisUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +19,6 @@ import java.util.Map;
 @Service
 @RequiredArgsConstructor
 public class PlayerService {
-    private final RedisUtil redisUtil;
     private final PlayerRepository playerRepository;
 
     private List<PlayerInfoResponse> buildPlayerInfoList(Round round, Map<String, PlayerInfo> playersMap) {
@@ -52,14 +49,9 @@ public class PlayerService {
         return responseBuilder.build();
     }
 
-    public void saveClickLog(Long roomId, ClickDTO click) {
-        String key = "roomId:" + roomId + ":clicks";
-        redisUtil.saveToList(key, click);
-    }
-
     @Transactional
     public void savePlayers(List<Player> players) {
-        playerRepository.saveAll(players);
+        playerRepository.insertAll(players);
     }
 
     public List<Player> findByRoundId(Long roundId) {
@@ -0,0 +1,26 @@
+package com.wak.game.domain.player.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 라운드 중 죽은 플레이어의 사망 기록. 다른 노드가 라운드를 넘겨받아도 결과의 생존 시간과 처치자를 계산할 수 있도록 스냅샷에 함께 쓴다.
+ * PlayerInfo 에 필드를 더하면 이전 버전 노드가 읽지 못하므로 별도 Hash 에 둔다.
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+public class DeathInfo {
+    private Long userId;
+    private Long killerId;
+    private long deathNanos;
+
+    @Builder
+    public DeathInfo(Long userId, Long killerId, long deathNanos) {
+        this.userId = userId;
+        this.killerId = killerId;
+        this.deathNanos = deathNanos;
+    }
+}
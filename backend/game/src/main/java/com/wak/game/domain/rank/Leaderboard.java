@@ -0,0 +1,99 @@
+package com.wak.game.domain.rank;
+
+import java.util.Arrays;
+
+/**
+ * kill 수 내림차순으로 정렬된 순위표를 kill 이 늘어날 때마다 갱신한다.
+ * kill 수는 1씩만 증가하므로, 같은 kill 수 구간의 맨 앞 플레이어와 자리를 바꾸면 정렬이 유지된다.
+ * 따라서 increment 는 O(1), topK 는 O(k), 순위 조회는 O(1) 이다.
+ * 방 처리 스레드 하나에서만 사용한다.
+ */
+public class Leaderboard {
+    private final int[] order;
+    private final int[] positions;
+    private final int[] scores;
+    private int[] heads;
+    private int[] counts;
+
+    public Leaderboard(int size) {
+        this.order = new int[size];
+        this.positions = new int[size];
+        this.scores = new int[size];
+        this.heads = new int[Math.max(size, 1) + 1];
+        this.counts = new int[heads.length];
+
+        for (int slot = 0; slot < size; slot++) {
+            order[slot] = slot;
+            positions[slot] = slot;
+        }
+        counts[0] = size;
+    }
+
+    /**
+     * slot 의 점수를 1 올린다.
+     *
+     * @return 자리를 바꾼 다른 slot, 자리 이동이 없었으면 slot 자신
+     */
+    public int increment(int slot) {
+        int score = scores[slot];
+        int from = positions[slot];
+        int to = heads[score];
+        int displaced = order[to];
+
+        order[to] = slot;
+        order[from] = displaced;
+        positions[slot] = to;
+        positions[displaced] = from;
+
+        ensureScore(score + 1);
+        heads[score]++;
+        counts[score]--;
+        if (counts[score + 1]++ == 0)
+            heads[score + 1] = to;
+
+        scores[slot] = score + 1;
+        return displaced;
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    public int scoreOf(int slot) {
+        return scores[slot];
+    }
+
+    /**
+     * @return 순위표에서의 위치 (0 부터). 동점자끼리도 서로 다른 위치를 가진다.
+     */
+    public int positionOf(int slot) {
+        return positions[slot];
+    }
+
+    /**
+     * @return 동점자에게 같은 값을 주는 순위 (1 부터)
+     */
+    public int rankOf(int slot) {
+        return heads[scores[slot]] + 1;
+    }
+
+    public int slotAt(int position) {
+        return order[position];
+    }
+
+    /**
+     * @return 상위 k 명의 slot
+     */
+    public int[] topK(int k) {
+        return Arrays.copyOf(order, Math.min(k, order.length));
+    }
+
+    private void ensureScore(int score) {
+        if (score < heads.length)
+            return;
+
+        int length = Math.max(score + 1, heads.length * 2);
+        heads = Arrays.copyOf(heads, length);
+        counts = Arrays.copyOf(counts, length);
+    }
+}
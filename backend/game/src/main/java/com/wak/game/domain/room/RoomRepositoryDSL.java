@@ -5,6 +5,7 @@ import com.wak.game.domain.user.User;
 import java.util.Optional;
 
 public interface RoomRepositoryDSL {
+    Optional<Room> findByIdWithHost(Long roomId);
     Optional<Room> findByUser(User user);
     void deleteRoom(Long roomId);
     void startGame(Long roomId);
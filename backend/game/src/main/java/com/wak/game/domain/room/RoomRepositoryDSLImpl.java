@@ -8,11 +8,22 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static com.wak.game.domain.room.QRoom.room;
+import static com.wak.game.domain.user.QUser.user;
 
 @RequiredArgsConstructor
 public class RoomRepositoryDSLImpl implements RoomRepositoryDSL{
 
     private final JPAQueryFactory query;
+    @Override
+    public Optional<Room> findByIdWithHost(Long roomId) {
+        return Optional.ofNullable(query.select(room)
+                .from(room)
+                .leftJoin(room.user, user).fetchJoin()
+                .leftJoin(user.color).fetchJoin()
+                .where(room.id.eq(roomId))
+                .fetchOne());
+    }
+
     @Override
     public Optional<Room> findByUser(User user) {
         return Optional.ofNullable(query.select(room)
@@ -2,12 +2,15 @@ package com.wak.game.domain.room;
 
 import com.wak.game.application.vo.RoomVO;
 import com.wak.game.domain.user.User;
+import com.wak.game.global.config.CacheConfig;
 import com.wak.game.global.error.ErrorInfo;
 import com.wak.game.global.error.exception.BusinessException;
 import com.wak.game.global.util.RedisUtil;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
@@ -24,8 +27,12 @@ public class RoomService {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    /**
+     * 캐시한 Room 은 영속성 컨텍스트 밖에서도 쓰이므로 방장과 방장의 color 까지 함께 읽는다.
+     */
+    @Cacheable(cacheNames = CacheConfig.ROOMS, key = "#roomId")
     public Room findById(Long roomId) {
-        return roomRepository.findById(roomId).orElseThrow(() -> new BusinessException(ErrorInfo.ROOM_NOT_EXIST));
+        return roomRepository.findByIdWithHost(roomId).orElseThrow(() -> new BusinessException(ErrorInfo.ROOM_NOT_EXIST));
     }
 
     public Room findByUser(User user){
@@ -38,6 +45,7 @@ public class RoomService {
         else throw new BusinessException(ErrorInfo.ROOM_PASSWORD_IS_WRONG);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ROOMS, key = "#room.id")
     public void deleteRoom(Room room) {
         roomRepository.deleteRoom(room.getId());
     }
@@ -86,11 +94,13 @@ public class RoomService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ROOMS, key = "#room.id")
     public void gameStart(Room room) {
         roomRepository.startGame(room.getId());
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ROOMS, key = "#room.id")
     public void gameEnd(Room room) {
         roomRepository.endGame(room.getId());
     }
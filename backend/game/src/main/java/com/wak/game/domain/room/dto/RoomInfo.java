@@ -2,10 +2,12 @@ package com.wak.game.domain.room.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @AllArgsConstructor
 @NoArgsConstructor
+@EqualsAndHashCode
 public class RoomInfo {
     private long roomId;
     private String roomName;
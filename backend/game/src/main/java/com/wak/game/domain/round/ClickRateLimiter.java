@@ -0,0 +1,100 @@
+package com.wak.game.domain.round;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * 클릭을 Redis 에 넣기 전에 (방, 사용자) 마다 속도를 제한한다.
+ * 같은 대상을 dedup 창 안에 다시 누른 클릭은 중복으로 버리고, 나머지는 token bucket 으로 초당 개수와 burst 를 제한한다.
+ * bucket 은 CAS 로만 갱신하며, 한동안 클릭이 없는 bucket 은 만료되어 다른 노드가 소유한 방의 bucket 도 남지 않는다.
+ */
+@Component
+public class ClickRateLimiter {
+
+    public enum Result {
+        ACCEPTED, RATE_LIMITED, DUPLICATE
+    }
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long dedupNanos;
+    private final LongSupplier clock;
+    private final Cache<Key, Bucket> buckets;
+
+    @Autowired
+    public ClickRateLimiter(@Value("${game.click-limit.rate-per-second:20}") int ratePerSecond,
+                            @Value("${game.click-limit.burst:10}") int burst,
+                            @Value("${game.click-limit.dedup-millis:50}") long dedupMillis,
+                            @Value("${game.click-limit.max-size:100000}") long maxSize) {
+        this(ratePerSecond, burst, dedupMillis, maxSize, System::nanoTime);
+    }
+
+    ClickRateLimiter(int ratePerSecond, int burst, long dedupMillis, long maxSize, LongSupplier clock) {
+        this.intervalNanos = 1_000_000_000L / ratePerSecond;
+        this.burstNanos = intervalNanos * Math.max(0, burst - 1);
+        this.dedupNanos = Duration.ofMillis(dedupMillis).toNanos();
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+    }
+
+    public Result tryAcquire(Long roomId, Long userId, Long victimId) {
+        Bucket bucket = buckets.get(new Key(roomId, userId), key -> new Bucket());
+        long now = clock.getAsLong();
+
+        if (bucket.isDuplicate(victimId, now, dedupNanos))
+            return Result.DUPLICATE;
+
+        return bucket.take(now, intervalNanos, burstNanos) ? Result.ACCEPTED : Result.RATE_LIMITED;
+    }
+
+    private record Key(Long roomId, Long userId) {
+    }
+
+    private record LastClick(Long victimId, long at) {
+    }
+
+    /**
+     * token bucket 을 다음 token 이 생기는 이론상 시각 하나로 표현한다 (GCRA).
+     * 이 시각이 now + burst 를 넘지 않으면 token 이 남아 있는 것이고, 클릭마다 interval 만큼 미룬다.
+     */
+    private static final class Bucket {
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicReference<LastClick> lastClick = new AtomicReference<>();
+
+        boolean take(long now, long interval, long burst) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+                if (base - now > burst)
+                    return false;
+                if (theoreticalArrival.compareAndSet(tat, base + interval))
+                    return true;
+            }
+        }
+
+        /**
+         * 직전 클릭과 대상이 같고 창 안이면 중복이다. 중복이 아니면 이 클릭을 직전 클릭으로 기록한다.
+         */
+        boolean isDuplicate(Long victimId, long now, long window) {
+            LastClick next = new LastClick(victimId, now);
+            while (true) {
+                LastClick last = lastClick.get();
+                if (last != null && last.victimId().equals(victimId) && now - last.at() < window)
+                    return true;
+                if (lastClick.compareAndSet(last, next))
+                    return false;
+            }
+        }
+    }
+}
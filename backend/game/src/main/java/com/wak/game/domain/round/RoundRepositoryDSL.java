@@ -1,5 +1,9 @@
 package com.wak.game.domain.round;
 
+import java.util.List;
+
 public interface RoundRepositoryDSL {
     void deleteRound(Long roundId);
+
+    List<Long> findRecentRoundIds(Long roomId, Long lastRoundId, int limit);
 }
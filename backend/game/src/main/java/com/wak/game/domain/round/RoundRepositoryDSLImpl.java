@@ -3,6 +3,8 @@ package com.wak.game.domain.round;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
 import static com.wak.game.domain.round.QRound.round;
 
 @RequiredArgsConstructor
@@ -15,4 +17,14 @@ public class RoundRepositoryDSLImpl implements RoundRepositoryDSL{
                 .set(round.isDeleted, true)
                 .where(round.id.eq(roundId)).execute();
     }
+
+    @Override
+    public List<Long> findRecentRoundIds(Long roomId, Long lastRoundId, int limit) {
+        return query.select(round.id)
+                .from(round)
+                .where(round.room.id.eq(roomId), round.id.loe(lastRoundId))
+                .orderBy(round.id.desc())
+                .limit(limit)
+                .fetch();
+    }
 }
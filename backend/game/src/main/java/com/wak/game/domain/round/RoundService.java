@@ -5,20 +5,27 @@ import com.wak.game.application.facade.RoundFacade;
 import com.wak.game.application.request.GameStartRequest;
 import com.wak.game.application.response.SummaryCountResponse;
 import com.wak.game.domain.player.dto.PlayerInfo;
+import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.domain.round.state.RoomState;
 import com.wak.game.domain.round.thread.ClickEventProcessor;
+import com.wak.game.domain.round.thread.ClickStreamReader;
+import com.wak.game.domain.round.thread.GameLoopScheduler;
+import com.wak.game.domain.round.thread.RoomRouter;
 import com.wak.game.domain.room.Room;
 import com.wak.game.global.error.ErrorInfo;
 import com.wak.game.global.error.exception.BusinessException;
+import com.wak.game.global.metrics.GameMetrics;
 import com.wak.game.global.util.RedisUtil;
 import com.wak.game.global.util.SocketUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 import java.util.concurrent.locks.ReentrantLock;
 
 @Service
@@ -28,8 +35,10 @@ public class RoundService {
     private final RoundRepository roundRepository;
     private final RedisUtil redisUtil;
     private final ApplicationContext applicationContext;
+    private final GameLoopScheduler gameLoopScheduler;
+    private final RoomRouter roomRouter;
+    private final GameMetrics gameMetrics;
     private final Lock lock = new ReentrantLock();
-    private final ConcurrentHashMap<Long, Thread> gameThreads = new ConcurrentHashMap<>();
 
     public Round findById(Long roundId) {
         return roundRepository.findById(roundId).orElseThrow(() -> new BusinessException(ErrorInfo.ROUND_NOT_EXIST));
@@ -84,32 +93,106 @@ public class RoundService {
                 .build();
     }
 
-    public void startThread(Long roomId, Long roundId, int playerCnt) {
+    public SummaryCountResponse getSummaryCount(RoomState state, int roundNumber) {
+        return SummaryCountResponse.builder()
+                .roundNumber(roundNumber)
+                .aliveCount(state.getAliveCount())
+                .totalCount(state.getPlayerCount())
+                .build();
+    }
+
+    public void checkGameLoopCapacity() {
+        gameLoopScheduler.checkCapacity();
+    }
+
+    /**
+     * @return 방의 lease 를 얻었으면 true. 게임 루프가 끝나거나 runGameLoop 가 실패하면 해제된다
+     */
+    public boolean claimRoom(Long roomId) {
+        return roomRouter.claim(roomId);
+    }
 
+    /**
+     * lease 를 얻은 방의 게임 루프를 실행한다.
+     *
+     * @param roundIds 이번 게임의 1 라운드부터 round 까지의 id. 최종 결과를 계산할 때 사용한다
+     */
+    public void runGameLoop(Long roomId, Round round, RoomState state, List<Long> roundIds) {
         RedisUtil redisUtil = applicationContext.getBean(RedisUtil.class);
         SocketUtil socketUtil = applicationContext.getBean(SocketUtil.class);
         RoundService roundService = applicationContext.getBean(RoundService.class);
         RoundFacade roundFacade = applicationContext.getBean(RoundFacade.class);
         RankFacade rankFacade = applicationContext.getBean(RankFacade.class);
+        ThreadPoolTaskExecutor snapshotExecutor = applicationContext.getBean("snapshotExecutor", ThreadPoolTaskExecutor.class);
+
+        try {
+            ClickEventProcessor clickProcessor = new ClickEventProcessor(round, roomId, state, redisUtil, socketUtil, roundService, roundFacade, rankFacade, gameLoopScheduler, snapshotExecutor, gameMetrics);
+            clickProcessor.restoreRoundIds(roundIds);
+            gameLoopScheduler.register(roomId, clickProcessor);
+            clickProcessor.start();
+        } catch (RuntimeException e) {
+            releaseRoom(roomId);
+            throw e;
+        }
+    }
 
-        ClickEventProcessor clickProcessor = new ClickEventProcessor(roundId, roomId, playerCnt, redisUtil, socketUtil, roundService, roundFacade, rankFacade);
-        Thread thread = new Thread(clickProcessor);
-        thread.start();
+    /**
+     * 게임 루프와 heartbeat 를 멈추고 lease 를 해제한다. click stream 은 남겨 두어 다른 노드가 이어서 처리할 수 있다.
+     */
+    public void releaseRoom(Long roomId) {
+        gameLoopScheduler.cancel(roomId);
+        roomRouter.release(roomId);
+    }
 
-        gameThreads.put(roomId, thread);
+    /**
+     * @return 1 라운드부터 lastRound 까지 이번 게임의 라운드 id
+     */
+    public List<Long> findGameRoundIds(Long roomId, Round lastRound) {
+        List<Long> roundIds = new ArrayList<>(roundRepository.findRecentRoundIds(roomId, lastRound.getId(), lastRound.getRoundNumber()));
+        Collections.reverse(roundIds);
+        return roundIds;
     }
 
-    public void endThread(Long roomId) {
-        Thread thread = gameThreads.remove(roomId);
+    public boolean hasGameLoop(Long roomId) {
+        return gameLoopScheduler.hasLoop(roomId);
+    }
 
-        if (thread != null) {
-            thread.interrupt();
-            try {
-                thread.join();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
+    public boolean dispatchClick(Long roomId, ClickDTO click) {
+        return roomRouter.route(roomId, click);
+    }
+
+    /**
+     * 클릭한 사용자와 대상이 진행 중인 라운드의 참가자인지 DB 없이 확인한다.
+     * 이 노드가 실행 중인 방은 메모리의 참가자 목록으로, 다른 노드가 소유한 방은 Redis 의 라운드 id 와 참가자 Hash 로 확인한다.
+     *
+     * @return 클릭을 보낼 라운드 id, 받을 수 없는 클릭이면 null
+     */
+    public Long acceptClick(Long roomId, Long userId, Long victimId) {
+        if (userId == null || victimId == null)
+            return null;
+        if (roomRouter.isLocal(roomId))
+            return gameLoopScheduler.acceptClick(roomId, userId, victimId);
+
+        Long roundId = redisUtil.getCurrentRoundId(roomId);
+        if (roundId == null)
+            return null;
+
+        Set<String> userIds = new LinkedHashSet<>(List.of(userId.toString(), victimId.toString()));
+        Map<String, PlayerInfo> players = redisUtil.getFields("roomId:" + roomId + ":users", userIds, PlayerInfo.class);
+        return players.size() == userIds.size() ? roundId : null;
+    }
+
+    /**
+     * @return 이 노드가 방의 게임 루프를 실행 중이라 task 를 예약했으면 true
+     */
+    public boolean submitToGameLoop(Long roomId, Consumer<RoomState> task) {
+        return gameLoopScheduler.submit(roomId, task);
+    }
+
+    public void endGameLoop(Long roomId) {
+        gameLoopScheduler.cancel(roomId);
+        redisUtil.deleteKey(ClickStreamReader.keyOf(roomId));
+        roomRouter.release(roomId);
     }
 
     @Transactional
@@ -122,8 +205,9 @@ public class RoundService {
     }
 
     public Round getRound(Long roomId) {
-        Map<String, Long> data = redisUtil.getData("room:round", Long.class);
-        Long roundId = data.get(roomId.toString());
+        Long roundId = redisUtil.getCurrentRoundId(roomId);
+        if (roundId == null)
+            throw new BusinessException(ErrorInfo.ROUND_NOT_EXIST);
 
         return findById(roundId);
     }
@@ -0,0 +1,65 @@
+package com.wak.game.domain.round.state;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 방 하나의 Redis 스냅샷 쓰기를 공용 Executor 위에서 순서대로 실행한다.
+ * 같은 방의 쓰기는 제출 순서가 보장되고, 방 처리 스레드는 쓰기를 기다리지 않는다.
+ */
+@Slf4j
+public class RoomSnapshotWriter {
+    private final Long roomId;
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    public RoomSnapshotWriter(Long roomId, Executor executor) {
+        this.roomId = roomId;
+        this.executor = executor;
+    }
+
+    public void submit(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    /**
+     * 지금까지 제출된 쓰기가 모두 반영될 때까지 기다린다.
+     *
+     * @return 제한 시간 안에 반영되었으면 true
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        submit(latch::countDown);
+        return latch.await(timeout, unit);
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true))
+            executor.execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("[SNAPSHOT] write failed roomId={}", roomId, e);
+                }
+            }
+        } finally {
+            draining.set(false);
+            if (!tasks.isEmpty())
+                schedule();
+        }
+    }
+}
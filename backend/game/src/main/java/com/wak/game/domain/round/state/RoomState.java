@@ -0,0 +1,277 @@
+package com.wak.game.domain.round.state;
+
+import com.wak.game.domain.player.dto.DeathInfo;
+import com.wak.game.domain.player.dto.PlayerInfo;
+import com.wak.game.domain.rank.Leaderboard;
+import com.wak.game.domain.rank.dto.RankInfo;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 라운드 진행 중 방 상태의 단일 원본.
+ * 플레이어는 0 부터 시작하는 slot 으로 색인되고, 값은 원시 배열에 보관된다.
+ * 방 처리 스레드만 상태를 변경하며 Redis 에는 스냅샷으로 비동기 반영된다.
+ * 마지막 브로드캐스트 이후 바뀐 slot 은 변경 집합에 모아 두었다가 한 번에 내보낸다.
+ */
+public class RoomState {
+    private final Long roundId;
+    private final Map<Long, Integer> slots;
+    private final long[] userIds;
+    private final String[] nicknames;
+    private final String[] colors;
+    private final String[] teams;
+    private final boolean[] hosts;
+    private final int[] stamina;
+    private final int[] kills;
+    private final boolean[] alive;
+    private final int[] killedBy;
+    private final long[] deathNanos;
+    private final BitSet changedStamina;
+    private final BitSet changedRanks;
+    private final Leaderboard leaderboard;
+    private int aliveCount;
+
+    private RoomState(Long roundId, List<PlayerInfo> players) {
+        int size = players.size();
+
+        this.roundId = roundId;
+        this.slots = new HashMap<>(size * 2);
+        this.userIds = new long[size];
+        this.nicknames = new String[size];
+        this.colors = new String[size];
+        this.teams = new String[size];
+        this.hosts = new boolean[size];
+        this.stamina = new int[size];
+        this.kills = new int[size];
+        this.alive = new boolean[size];
+        this.killedBy = new int[size];
+        this.deathNanos = new long[size];
+        this.changedStamina = new BitSet(size);
+        this.changedRanks = new BitSet(size);
+        this.leaderboard = new Leaderboard(size);
+
+        for (int slot = 0; slot < size; slot++) {
+            PlayerInfo player = players.get(slot);
+
+            slots.put(player.getUserId(), slot);
+            userIds[slot] = player.getUserId();
+            nicknames[slot] = player.getNickname();
+            colors[slot] = player.getColor();
+            teams[slot] = player.getTeam();
+            hosts[slot] = player.getIsHost();
+            stamina[slot] = player.getStamina();
+            alive[slot] = player.getStamina() > 0;
+            killedBy[slot] = -1;
+
+            if (alive[slot])
+                aliveCount++;
+        }
+    }
+
+    public static RoomState of(Long roundId, List<PlayerInfo> players) {
+        return new RoomState(roundId, players);
+    }
+
+    /**
+     * Redis 스냅샷에서 상태를 다시 만든다. 다른 노드에서 진행되던 라운드를 넘겨받을 때 사용한다.
+     *
+     * @param kills  userId 별 kill 수
+     * @param deaths 죽은 플레이어의 처치자와 사망 시각. 없는 플레이어는 처치자를 알 수 없는 것으로 둔다
+     */
+    public static RoomState restore(Long roundId, List<PlayerInfo> players, Map<Long, Integer> kills, List<DeathInfo> deaths) {
+        RoomState state = new RoomState(roundId, players);
+        for (int slot = 0; slot < state.userIds.length; slot++) {
+            int kill = kills.getOrDefault(state.userIds[slot], 0);
+            state.kills[slot] = kill;
+            for (int i = 0; i < kill; i++) {
+                state.leaderboard.increment(slot);
+            }
+        }
+
+        for (DeathInfo death : deaths) {
+            int victim = state.slotOf(death.getUserId());
+            if (victim < 0 || state.alive[victim])
+                continue;
+            state.killedBy[victim] = death.getKillerId() == null ? -1 : state.slotOf(death.getKillerId());
+            state.deathNanos[victim] = death.getDeathNanos();
+        }
+        return state;
+    }
+
+    /**
+     * @return userId 에 해당하는 slot, 라운드 참가자가 아니면 -1
+     */
+    public int slotOf(Long userId) {
+        Integer slot = slots.get(userId);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * attacker 가 victim 을 공격한다. 두 플레이어가 모두 살아있을 때만 반영된다.
+     *
+     * @param nanos 클릭이 서버에 도착한 시각 (epoch nanos). victim 이 죽으면 사망 시각으로 기록된다
+     * @return 공격이 반영되었으면 true
+     */
+    public boolean attack(int attacker, int victim, long nanos) {
+        if (!alive[attacker] || !alive[victim])
+            return false;
+
+        if (--stamina[victim] <= 0) {
+            alive[victim] = false;
+            killedBy[victim] = attacker;
+            deathNanos[victim] = nanos;
+            aliveCount--;
+        }
+        kills[attacker]++;
+        changedStamina.set(victim);
+        changedRanks.set(attacker);
+        changedRanks.set(leaderboard.increment(attacker));
+        return true;
+    }
+
+    public boolean hasChanges() {
+        return !changedStamina.isEmpty() || !changedRanks.isEmpty();
+    }
+
+    /**
+     * @return 마지막 호출 이후 stamina 가 바뀐 slot 집합
+     */
+    public BitSet pollStaminaChanges() {
+        BitSet changes = (BitSet) changedStamina.clone();
+        changedStamina.clear();
+        return changes;
+    }
+
+    /**
+     * @return 마지막 호출 이후 kill 수나 순위표 위치가 바뀐 slot 집합
+     */
+    public BitSet pollRankChanges() {
+        BitSet changes = (BitSet) changedRanks.clone();
+        changedRanks.clear();
+        return changes;
+    }
+
+    public boolean isAlive(int slot) {
+        return alive[slot];
+    }
+
+    public Long getRoundId() {
+        return roundId;
+    }
+
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    public int getPlayerCount() {
+        return userIds.length;
+    }
+
+    public long getUserId(int slot) {
+        return userIds[slot];
+    }
+
+    public String getNickname(int slot) {
+        return nicknames[slot];
+    }
+
+    public String getColor(int slot) {
+        return colors[slot];
+    }
+
+    public int getStamina(int slot) {
+        return stamina[slot];
+    }
+
+    public int getKills(int slot) {
+        return kills[slot];
+    }
+
+    /**
+     * @return victim 을 죽인 플레이어의 slot, 살아있거나 알 수 없으면 -1
+     */
+    public int getKilledBy(int slot) {
+        return killedBy[slot];
+    }
+
+    /**
+     * @return 사망 시각 (epoch nanos), 살아있거나 알 수 없으면 0
+     */
+    public long getDeathNanos(int slot) {
+        return deathNanos[slot];
+    }
+
+    /**
+     * @return 순위표에서의 위치 (0 부터)
+     */
+    public int getPosition(int slot) {
+        return leaderboard.positionOf(slot);
+    }
+
+    public PlayerInfo toPlayerInfo(int slot) {
+        return new PlayerInfo(roundId, userIds[slot], colors[slot], nicknames[slot], teams[slot], hosts[slot], stamina[slot]);
+    }
+
+    /**
+     * @return 죽은 플레이어의 사망 기록, 살아있으면 null
+     */
+    public DeathInfo toDeathInfo(int slot) {
+        if (alive[slot])
+            return null;
+
+        int killer = killedBy[slot];
+        return new DeathInfo(userIds[slot], killer < 0 ? null : userIds[killer], deathNanos[slot]);
+    }
+
+    public RankInfo toRankInfo(int slot) {
+        return RankInfo.builder()
+                .userId(userIds[slot])
+                .nickname(nicknames[slot])
+                .killCnt(kills[slot])
+                .color(colors[slot])
+                .build();
+    }
+
+    public List<PlayerInfo> getPlayers() {
+        List<PlayerInfo> players = new ArrayList<>(userIds.length);
+        for (int slot = 0; slot < userIds.length; slot++) {
+            players.add(toPlayerInfo(slot));
+        }
+        return players;
+    }
+
+    /**
+     * @return 순위표 순서의 slot
+     */
+    public int[] getRankedSlots() {
+        return leaderboard.topK(userIds.length);
+    }
+
+    public List<RankInfo> getRanks() {
+        return getTopRanks(userIds.length);
+    }
+
+    /**
+     * @return kill 수 상위 k 명. 순위표가 항상 정렬되어 있어 정렬 없이 O(k) 이다.
+     */
+    public List<RankInfo> getTopRanks(int k) {
+        int[] top = leaderboard.topK(k);
+        List<RankInfo> ranks = new ArrayList<>(top.length);
+        for (int slot : top) {
+            ranks.add(toRankInfo(slot));
+        }
+        return ranks;
+    }
+
+    /**
+     * @return userId 의 순위 (1 부터, 동점자는 같은 순위), 참가자가 아니면 -1
+     */
+    public int rankOf(Long userId) {
+        int slot = slotOf(userId);
+        return slot < 0 ? -1 : leaderboard.rankOf(slot);
+    }
+}
@@ -0,0 +1,70 @@
+package com.wak.game.domain.round.state;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 끝난 라운드의 결과. 게임 루프의 상태에서 바로 만들어지므로 DB 반영을 기다리지 않고 결과를 보낼 수 있다.
+ *
+ * @param players 순위 순서의 플레이어 결과
+ */
+public record RoundResult(Long roundId, int roundNumber, LocalDateTime startedAt, LocalDateTime finishedAt,
+                          List<PlayerResult> players) {
+
+    private static final long BREAK_NANOS = 30 * 1_000_000_000L;
+
+    /**
+     * @param aliveNanos 라운드 시작부터 죽을 때까지의 시간, 살아남았으면 0
+     * @param murdererId 살아남았거나 알 수 없으면 null
+     */
+    public record PlayerResult(Long userId, String nickname, String color, int rank, int killCount, int stamina,
+                               long aliveNanos, Long murdererId, String murdererNickname, String murdererColor) {
+    }
+
+    /**
+     * @param startNanos 라운드 시작 시각 (epoch nanos). 생존 시간의 기준이 된다
+     */
+    public static RoundResult of(Long roundId, int roundNumber, LocalDateTime startedAt, LocalDateTime finishedAt,
+                                 long startNanos, RoomState state) {
+        long aliveBase = roundNumber == 1 ? startNanos : startNanos - BREAK_NANOS;
+        int[] ranked = state.getRankedSlots();
+        List<PlayerResult> players = new ArrayList<>(ranked.length);
+
+        for (int i = 0; i < ranked.length; i++) {
+            int slot = ranked[i];
+            int murderer = state.getKilledBy(slot);
+            long deathNanos = state.getDeathNanos(slot);
+
+            players.add(new PlayerResult(
+                    state.getUserId(slot),
+                    state.getNickname(slot),
+                    state.getColor(slot),
+                    i + 1,
+                    state.getKills(slot),
+                    state.getStamina(slot),
+                    deathNanos == 0 ? 0 : deathNanos - aliveBase,
+                    murderer < 0 ? null : state.getUserId(murderer),
+                    murderer < 0 ? null : state.getNickname(murderer),
+                    murderer < 0 ? null : state.getColor(murderer)));
+        }
+        return new RoundResult(roundId, roundNumber, startedAt, finishedAt, players);
+    }
+
+    /**
+     * 결과 화면의 라운드 시간. 2, 3 라운드는 휴식 시간 30초를 더한다.
+     */
+    public int playTimeSeconds() {
+        long seconds = Duration.between(startedAt, finishedAt).getSeconds();
+        return (int) (roundNumber == 1 ? seconds : seconds + 30);
+    }
+
+    /**
+     * 최종 결과의 게임 시간에 더하는 라운드 시간. 2, 3 라운드는 휴식 시간 30초를 뺀다.
+     */
+    public int gameTimeSeconds() {
+        long seconds = Duration.between(startedAt, finishedAt).getSeconds();
+        return (int) (roundNumber == 1 ? seconds : seconds - 30);
+    }
+}
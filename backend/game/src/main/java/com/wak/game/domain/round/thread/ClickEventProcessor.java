@@ -4,191 +4,443 @@ import com.wak.game.application.facade.RankFacade;
 import com.wak.game.application.facade.RoundFacade;
 import com.wak.game.application.response.socket.KillLogResponse;
 import com.wak.game.application.response.socket.TimeResponse;
+import com.wak.game.domain.player.dto.DeathInfo;
 import com.wak.game.domain.player.dto.PlayerInfo;
+import com.wak.game.domain.rank.dto.RankInfo;
 import com.wak.game.domain.round.Round;
 import com.wak.game.domain.round.RoundService;
 import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.domain.round.state.RoomSnapshotWriter;
+import com.wak.game.domain.round.state.RoomState;
+import com.wak.game.domain.round.state.RoundResult;
 import com.wak.game.global.error.ErrorInfo;
 import com.wak.game.global.error.exception.BusinessException;
+import com.wak.game.global.metrics.GameMetrics;
 import com.wak.game.global.util.RedisUtil;
 import com.wak.game.global.util.SocketUtil;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.RecordId;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 방 하나의 클릭을 순서대로 처리한다.
+ * 전용 스레드 없이 클릭이 들어왔을 때만 GameLoopScheduler 의 공용 풀에서 실행된다.
+ */
+@Slf4j
+public class ClickEventProcessor {
+    private static final long SNAPSHOT_FLUSH_TIMEOUT_SECONDS = 5;
+    private static final int DRAIN_BATCH_SIZE = 64;
+    private static final int BREAK_SECONDS = 30;
 
-import java.util.*;
-
-public class ClickEventProcessor implements Runnable {
     private volatile boolean running = true;
+    private volatile RoundPhase phase = RoundPhase.PLAYING;
     private final Long roomId;
-    private Long roundId;
+    private final String streamKey;
+    private volatile Long roundId;
+    private int roundNumber;
     private Long round1Id;
     private Long round2Id;
     private Long round3Id;
-    private final int playerCount;
-    private int aliveCount;
-    private int lastProcessedIndex = 0;
+    private final List<RoundResult> roundResults = new ArrayList<>();
+    private volatile RoomState state;
+    private final Queue<StreamedClick> inbox = new ConcurrentLinkedQueue<>();
+    private final Queue<Consumer<RoomState>> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean broadcastDue = new AtomicBoolean(false);
+    private volatile boolean dirty;
+    private volatile ScheduledFuture<?> broadcastTimer;
+    private volatile ScheduledFuture<?> breakTimer;
+    private final Map<String, PlayerInfo> pendingUsers = new HashMap<>();
+    private final Map<String, RankInfo> pendingRanks = new HashMap<>();
+    private final Map<String, DeathInfo> pendingDeaths = new HashMap<>();
+    private final List<RecordId> pendingAcks = new ArrayList<>();
+    private volatile SnapshotBatch unwritten;
+    private final RoomBroadcaster broadcaster;
+    private final RoomSnapshotWriter snapshotWriter;
+    private final GameLoopScheduler scheduler;
     private RedisUtil redisUtil;
     private final SocketUtil socketUtil;
     private final RoundService roundService;
     private final RoundFacade roundFacade;
     private final RankFacade rankFacade;
+    private final GameMetrics gameMetrics;
 
-    public ClickEventProcessor(Long roundId, Long roomId, int playerCnt, RedisUtil redisUtil, SocketUtil socketUtil, RoundService roundService, RoundFacade roundFacade, RankFacade rankFacade) {
-        this.roundId = roundId;
-        this.round1Id = roundId;
+    public ClickEventProcessor(Round round, Long roomId, RoomState state, RedisUtil redisUtil, SocketUtil socketUtil, RoundService roundService, RoundFacade roundFacade, RankFacade rankFacade, GameLoopScheduler scheduler, Executor snapshotExecutor, GameMetrics gameMetrics) {
+        this.roundId = round.getId();
+        this.roundNumber = round.getRoundNumber();
+        this.round1Id = round.getId();
         this.roomId = roomId;
-        this.playerCount = playerCnt;
+        this.streamKey = ClickStreamReader.keyOf(roomId);
+        this.state = state;
+        this.snapshotWriter = new RoomSnapshotWriter(roomId, snapshotExecutor);
+        this.scheduler = scheduler;
         this.redisUtil = redisUtil;
         this.socketUtil = socketUtil;
         this.roundService = roundService;
         this.roundFacade = roundFacade;
         this.rankFacade = rankFacade;
-        this.aliveCount = playerCount;
+        this.gameMetrics = gameMetrics;
+        this.broadcaster = new RoomBroadcaster(roomId, socketUtil, scheduler.getKeyframeTicks());
+        this.broadcaster.reset(state);
+    }
+
+    /**
+     * 이번 게임의 라운드 id 를 채운다. 다른 노드에서 진행되던 2, 3 라운드를 넘겨받았을 때 최종 결과에 필요하다.
+     *
+     * @param roundIds 1 라운드부터 현재 라운드까지의 id
+     */
+    public void restoreRoundIds(List<Long> roundIds) {
+        this.round1Id = roundIds.get(0);
+        this.round2Id = roundIds.size() > 1 ? roundIds.get(1) : null;
+        this.round3Id = roundIds.size() > 2 ? roundIds.get(2) : null;
+    }
+
+    /**
+     * 변경 사항을 tick 마다 모아 보내도록 브로드캐스트 타이머를 등록한다.
+     */
+    public void start() {
+        broadcastTimer = scheduler.every(roomId, scheduler.getBroadcastTickMillis(), this::requestBroadcast);
+    }
+
+    /**
+     * 클릭을 방 처리 큐에 넣고, 처리 중이 아니면 공용 풀에 처리 작업을 예약한다. 유휴 방은 스레드와 CPU 를 사용하지 않는다.
+     *
+     * @param recordId click stream 의 항목. 처리 결과의 스냅샷을 쓴 뒤 확인한다
+     * @param click    저장이 끝난 클릭
+     * @return 게임 루프가 종료되었거나 라운드 사이 휴식 중이라 받지 않은 경우 false
+     * @throws java.util.concurrent.RejectedExecutionException 공용 풀의 대기열이 가득 찬 경우
+     */
+    public boolean offer(RecordId recordId, ClickDTO click) {
+        if (!isAcceptingClicks())
+            return false;
+
+        inbox.add(new StreamedClick(recordId, click));
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * 방 상태를 읽는 작업을 클릭 처리와 같은 순서로 실행한다. 다른 스레드에서 상태를 직접 읽지 않도록 할 때 사용한다.
+     *
+     * @return 게임 루프가 종료되었거나 예약하지 못한 경우 false
+     */
+    public boolean submit(Consumer<RoomState> task) {
+        if (!running)
+            return false;
+
+        tasks.add(task);
+        try {
+            scheduleDrain();
+            return true;
+        } catch (RejectedExecutionException e) {
+            tasks.remove(task);
+            return false;
+        }
+    }
+
+    /**
+     * 브로드캐스트 tick. 상태를 읽는 작업도 클릭 처리와 같은 순서로 실행되도록 처리 작업으로 예약한다.
+     */
+    private void requestBroadcast() {
+        if (!isAcceptingClicks() || (!dirty && broadcaster.isIdle()))
+            return;
+
+        if (!broadcastDue.compareAndSet(false, true))
+            return;
+
+        try {
+            scheduleDrain();
+        } catch (RejectedExecutionException e) {
+            broadcastDue.set(false);
+        }
     }
 
-    @Override
-    public void run() {
-        //countDown(3);
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true))
+            return;
 
-        while (running) {
-            try {
-                List<ClickDTO> clickDataList = redisUtil.getListData("roomId:" + roomId + ":clicks", ClickDTO.class, lastProcessedIndex);
+        try {
+            scheduler.getLoopExecutor().execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            throw e;
+        }
+    }
 
-                if (clickDataList.isEmpty()) {
-                    continue;
+    /**
+     * 한 번에 DRAIN_BATCH_SIZE 개까지 처리하고 남은 클릭은 다시 예약해 다른 방이 굶지 않도록 한다.
+     */
+    private void drain() {
+        try {
+            Consumer<RoomState> task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.accept(state);
+                } catch (Exception e) {
+                    log.error("[GAME-LOOP] task failed roomId={}", roomId, e);
                 }
+            }
 
-                for (int i = 0; i < clickDataList.size(); i++) {
-                    ClickDTO click = clickDataList.get(i);
+            for (int i = 0; i < DRAIN_BATCH_SIZE && isAcceptingClicks(); i++) {
+                StreamedClick streamed = inbox.poll();
+                if (streamed == null)
+                    break;
 
-                    System.out.println("처리해야할 클릭");
-                    System.out.println(click.toString());
-                    lastProcessedIndex++;
+                ClickDTO click = streamed.click();
+                pendingAcks.add(streamed.recordId());
+                if (log.isDebugEnabled())
+                    log.debug("[GAME-LOOP] click roomId={} userId={} victimId={}", roomId, click.getUserId(), click.getVictimId());
+                gameMetrics.recordClickLag(click.getNanoSec());
+                try {
                     checkClickedUser(click);
-                    if (!running)
-                        break;
+                } catch (BusinessException e) {
+                    log.debug("[GAME-LOOP] click rejected roomId={} reason={}", roomId, e.getMessage());
+                } catch (Exception e) {
+                    log.error("[GAME-LOOP] click failed roomId={}", roomId, e);
                 }
+            }
 
-                Thread.sleep(1); // 10밀리초 대기
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            } catch (Exception e) {
-                e.printStackTrace();
+            if (broadcastDue.compareAndSet(true, false) && isAcceptingClicks()) {
+                dirty = false;
+                broadcaster.flush(state, roundNumber);
             }
+        } finally {
+            commitSnapshot();
+            draining.set(false);
+            if (!tasks.isEmpty() || (isAcceptingClicks() && (!inbox.isEmpty() || broadcastDue.get())))
+                scheduleDrain();
         }
     }
 
-    @Transactional
     protected void checkClickedUser(ClickDTO click) {
-        Round round = roundService.getRound(roomId);
-
-        if (!round.getId().equals(roundId))
+        if (!roundId.equals(click.getRoundId()))
             throw new BusinessException(ErrorInfo.ROUND_NOT_MATCHED);
 
-        String key = "roomId:" + roomId + ":users";
-        Map<String, PlayerInfo> data = redisUtil.getData(key, PlayerInfo.class);
-
-        PlayerInfo user = data.get(click.getUserId().toString());
-        PlayerInfo victim = data.get(click.getVictimId().toString());
-        if (user == null) {
-            throw new BusinessException(ErrorInfo.PLAYER_NOT_FOUND);
-        }
-        if (victim == null) {
+        int user = state.slotOf(click.getUserId());
+        int victim = state.slotOf(click.getVictimId());
+        if (user < 0 || victim < 0) {
             throw new BusinessException(ErrorInfo.PLAYER_NOT_FOUND);
         }
 
-        if (isAlive(user) && isAlive(victim)) {
-            victim.updateStamina(-1);
-            redisUtil.saveData(key, victim.getUserId().toString(), victim);
+        if (!state.attack(user, victim, click.getNanoSec()))
+            return;
 
-            saveSuccessfulClick(click);
-            --aliveCount;
+        saveSnapshot(user, victim);
+        dirty = true;
 
-            rankFacade.updateRankings(click, roomId);
+        if (state.getAliveCount() > 1) {
+            socketUtil.sendMessage("/games/" + roomId + "/kill-log", new KillLogResponse(click.getRoundId(), state.getNickname(user), state.getColor(user), state.getNickname(victim), state.getColor(victim)));
+            return;
+        }
 
-            if (aliveCount > 1){
-                socketUtil.sendMessage("/games/" + roomId + "/kill-log", new KillLogResponse(click.getRoundId(), user.getNickname(), user.getColor(), victim.getNickname(), victim.getColor()));
-                roundFacade.sendBattleField(roomId, false);
-                roundFacade.sendDashBoard(roomId, round.getRoundNumber());
-                rankFacade.sendRank(roomId);
-                return;
-            }
+        log.debug("[GAME-LOOP] round finished roomId={} roundId={}", roomId, roundId);
+        Timer.Sample sample = gameMetrics.start();
+        commitSnapshot();
+        flushSnapshot();
+        RoundResult result = roundFacade.endRound(roomId, roundId, state);
+        roundResults.add(result);
+        roundFacade.sendResult(roomId, result, null, roundResults, round1Id, round2Id, round3Id);
+        gameMetrics.stopRoundEnd(sample);
+
+        if (roundNumber == 3) {
+            roundFacade.endGame(roomId);
+            stop();
+            return;
+        }
 
-            System.out.println("종료 조건");
-            roundFacade.endRound(roomId, roundId);
-            System.out.println("플레이어 정리 완료");
+        startBreak();
+    }
 
-            roundFacade.sendResult(roomId, roundId, null, round1Id, round2Id, round3Id);
-            System.out.println("결과 반환 성공");
+    /**
+     * 라운드 사이 휴식을 시작한다. 처리 스레드를 점유하지 않고 타이머로 남은 시간을 보내며,
+     * 휴식 중 들어온 클릭은 저장하지 않고 버린다. 다음 라운드 시작은 클릭 처리와 같은 순서로 실행되도록 처리 작업으로 넣는다.
+     */
+    private void startBreak() {
+        phase = RoundPhase.BREAK;
+        StreamedClick streamed;
+        while ((streamed = inbox.poll()) != null)
+            pendingAcks.add(streamed.recordId());
+        commitSnapshot();
+
+        breakTimer = scheduler.countDown(roomId, BREAK_SECONDS,
+                sec -> socketUtil.sendMessage("/games/" + roomId + "/time", new TimeResponse(sec)),
+                () -> {
+                    if (running && !submit(current -> startNextRound()))
+                        abort(new RejectedExecutionException("game loop queue is full"));
+                });
+    }
 
-            if (round.getRoundNumber() == 3) {
-                roundFacade.endGame(roomId);
-                stop();
-            }
+    private void startNextRound() {
+        if (!running)
+            return;
 
-            //30초를
-            for (int sec = 30; sec >= 0; sec--) {
-                System.out.print(sec);
-                try {
-                    Thread.sleep(1000);
-                    socketUtil.sendMessage("/games/" + roomId + "/time", new TimeResponse(sec));
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
-            }
+        try {
+            Round nextRound = roundFacade.startNextRound(roundService.findById(roundId));
+            updateNextRound(nextRound);
 
-            Round nextRound = roundFacade.startNextRound(round);
-            updateNextRound(nextRound.getId());
+            state = roundFacade.initializeGameStatuses(roomId, nextRound);
+            broadcaster.reset(state);
 
-            roundFacade.initializeGameStatuses(roomId, nextRound);
-            roundFacade.sendDashBoard(roomId, nextRound.getRoundNumber());
-            rankFacade.sendRank(roomId);
+            roundFacade.sendDashBoard(roomId, roundService.getSummaryCount(state, roundNumber));
+            rankFacade.sendRank(roomId, state.getRanks());
+            phase = RoundPhase.PLAYING;
+        } catch (Exception e) {
+            abort(e);
         }
+    }
 
+    /**
+     * 다음 라운드를 시작하지 못하면 방이 휴식 상태로 남아 lease 만 연장되므로 게임을 끝낸다.
+     * 정산까지 실패해도 게임 루프와 lease 는 정리한다.
+     */
+    private void abort(Exception cause) {
+        log.error("[GAME-LOOP] failed to start next round, aborting game roomId={}", roomId, cause);
+        stop();
+        try {
+            roundFacade.abortGame(roomId, roundId);
+        } catch (Exception e) {
+            log.error("[GAME-LOOP] failed to abort game roomId={}", roomId, e);
+            roundService.endGameLoop(roomId);
+        }
     }
 
-    private void countDown(int sec) {
-        new Thread(() -> {
-            try {
-                for (int i = sec; i > 0; i--) {
-                    socketUtil.sendMessage("/games/" + roomId + "/battle-field", "Round will start in " + i + " seconds");
-                    Thread.sleep(1000);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }).start();
+    /**
+     * 공격 결과를 다음 스냅샷에 넣는다. 스냅샷은 drain 이 끝날 때 처리한 클릭의 확인과 함께 쓴다.
+     */
+    private void saveSnapshot(int user, int victim) {
+        PlayerInfo victimInfo = state.toPlayerInfo(victim);
+        RankInfo rankInfo = state.toRankInfo(user);
+        pendingUsers.put(victimInfo.getUserId().toString(), victimInfo);
+        pendingRanks.put(rankInfo.getUserId().toString(), rankInfo);
+
+        DeathInfo death = state.toDeathInfo(victim);
+        if (death != null)
+            pendingDeaths.put(death.getUserId().toString(), death);
+    }
+
+    /**
+     * 모아 둔 스냅샷과 처리한 클릭의 확인을 snapshot writer 에 넘긴다.
+     */
+    private void commitSnapshot() {
+        pendingAcks.removeIf(Objects::isNull);
+        if (pendingUsers.isEmpty() && pendingRanks.isEmpty() && pendingAcks.isEmpty())
+            return;
 
-        socketUtil.sendMessage("/games/" + roomId + "/battle-field", "Game Start!");
+        SnapshotBatch batch = new SnapshotBatch(new HashMap<>(pendingUsers), new HashMap<>(pendingRanks), new HashMap<>(pendingDeaths), new ArrayList<>(pendingAcks));
+        pendingUsers.clear();
+        pendingRanks.clear();
+        pendingDeaths.clear();
+        pendingAcks.clear();
+        snapshotWriter.submit(() -> writeSnapshot(batch));
     }
 
-    private boolean isAlive(PlayerInfo user) {
-        return user.getStamina() > 0;
+    /**
+     * snapshot writer 에서 순서대로 실행된다. 스냅샷과 XACK 는 한 transaction 으로 쓰므로 스냅샷이 반영된 클릭만 확인된다.
+     * 쓰지 못한 batch 는 다음 batch 와 합쳐 다시 쓰므로, 확인되지 않은 클릭의 변경도 뒤의 스냅샷에서 빠지지 않는다.
+     */
+    private void writeSnapshot(SnapshotBatch batch) {
+        SnapshotBatch merged = unwritten == null ? batch : unwritten.merge(batch);
+        unwritten = null;
+        try {
+            redisUtil.saveSnapshot(roomId, merged.users(), merged.ranks(), merged.deaths(), streamKey, ClickStreamReader.GROUP, merged.acks(), merged.lastApplied());
+        } catch (RuntimeException e) {
+            unwritten = merged;
+            throw e;
+        }
+    }
+
+    /**
+     * 라운드 정산이 Redis 스냅샷을 지우므로, 지운 뒤에 다시 쓰이지 않도록 남은 쓰기를 먼저 반영한다.
+     * 끝내 쓰지 못한 스냅샷은 다음 라운드에 섞이지 않도록 버린다.
+     */
+    private void flushSnapshot() {
+        try {
+            if (!snapshotWriter.flush(SNAPSHOT_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                log.warn("[SNAPSHOT] flush timed out roomId={}", roomId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (unwritten != null) {
+            log.warn("[SNAPSHOT] dropping unwritten snapshot at round end roomId={} clicks={}", roomId, unwritten.acks().size());
+            unwritten = null;
+        }
+    }
+
+    public boolean isAcceptingClicks() {
+        return running && phase == RoundPhase.PLAYING;
     }
 
-    private void saveSuccessfulClick(ClickDTO click) {
-        String key = "roomId:" + roomId + ":availableClicks";
-        redisUtil.saveToList(key, click);
+    /**
+     * 게임 루프 밖에서 호출된다. 참가자 목록은 라운드가 바뀔 때 state 와 함께 교체되고 그 뒤에는 바뀌지 않는다.
+     *
+     * @return 진행 중인 라운드의 id, 클릭을 받지 않는 중이거나 참가자가 아닌 사용자가 있으면 null
+     */
+    public Long acceptClick(Long userId, Long victimId) {
+        RoomState current = state;
+        if (!isAcceptingClicks() || current.slotOf(userId) < 0 || current.slotOf(victimId) < 0)
+            return null;
+        return current.getRoundId();
     }
 
+    /**
+     * 같은 방에 새 게임 루프가 등록되어 멈출 때도 호출되므로, lease heartbeat 같은 방의 다른 타이머는 두고 이 루프의 타이머만 멈춘다.
+     */
     public void stop() {
         running = false;
+        scheduler.cancelTimer(roomId, broadcastTimer);
+        scheduler.cancelTimer(roomId, breakTimer);
     }
 
-    private void updateNextRound(Long newRoundId) {
-        Round round = roundService.findById(roundId);
+    private void updateNextRound(Round nextRound) {
+        if (roundNumber == 1) {
+            this.round2Id = nextRound.getId();
+        }
 
-        if (round.getRoundNumber() == 3)
-            return;
+        if (roundNumber == 2) {
+            this.round3Id = nextRound.getId();
+        }
+        this.roundId = nextRound.getId();
+        this.roundNumber = nextRound.getRoundNumber();
+    }
 
-        if (round.getRoundNumber() == 1) {
-            this.round2Id = newRoundId;
+    private record StreamedClick(RecordId recordId, ClickDTO click) {
+    }
+
+    private record SnapshotBatch(Map<String, PlayerInfo> users, Map<String, RankInfo> ranks, Map<String, DeathInfo> deaths, List<RecordId> acks) {
+
+        SnapshotBatch merge(SnapshotBatch next) {
+            Map<String, PlayerInfo> mergedUsers = new HashMap<>(users);
+            mergedUsers.putAll(next.users());
+            Map<String, RankInfo> mergedRanks = new HashMap<>(ranks);
+            mergedRanks.putAll(next.ranks());
+            Map<String, DeathInfo> mergedDeaths = new HashMap<>(deaths);
+            mergedDeaths.putAll(next.deaths());
+            List<RecordId> mergedAcks = new ArrayList<>(acks);
+            mergedAcks.addAll(next.acks());
+            return new SnapshotBatch(mergedUsers, mergedRanks, mergedDeaths, mergedAcks);
         }
 
-        if (round.getRoundNumber() == 2) {
-            this.round3Id = newRoundId;
+        RecordId lastApplied() {
+            return acks.isEmpty() ? null : acks.get(acks.size() - 1);
         }
-        this.roundId = newRoundId;
-        this.aliveCount = playerCount;
-        lastProcessedIndex = 0;
+    }
+
+    private enum RoundPhase {
+        PLAYING, BREAK
     }
 }
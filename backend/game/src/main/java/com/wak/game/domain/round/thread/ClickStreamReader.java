@@ -0,0 +1,180 @@
+package com.wak.game.domain.round.thread;
+
+import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.global.util.RedisUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 이 노드가 실행 중인 방들의 click stream 을 스레드 하나로 읽어 게임 루프에 넣는다.
+ * 방마다 consumer group 하나를 두고 노드 id 를 consumer 이름으로 사용한다. 게임 루프는 처리한 클릭의 스냅샷과 XACK 를 한 transaction 으로 쓴다.
+ * 처음 맡은 방은 다른 노드가 읽고 확인하지 않은 클릭을 넘겨받아 먼저 처리하므로, 소유 노드가 바뀌어도 클릭이 빠지지 않는다.
+ * 스냅샷에 이미 반영된 클릭은 다시 처리하지 않고 확인만 한다.
+ */
+@Slf4j
+@Component
+public class ClickStreamReader {
+    public static final String GROUP = "game-loop";
+    private static final int RECOVER_BATCH_SIZE = 1000;
+    private static final long IDLE_SLEEP_MILLIS = 100;
+
+    private final String nodeId;
+    private final GameLoopScheduler scheduler;
+    private final RedisUtil redisUtil;
+    private final int batchSize;
+    private final long blockMillis;
+    private final Set<Long> joined = new HashSet<>();
+    private volatile boolean running = true;
+    private Thread thread;
+
+    public ClickStreamReader(RoomRouter roomRouter,
+                             GameLoopScheduler scheduler,
+                             RedisUtil redisUtil,
+                             @Value("${game.click-stream.batch-size:256}") int batchSize,
+                             @Value("${game.click-stream.block-millis:100}") long blockMillis) {
+        this.nodeId = roomRouter.getNodeId();
+        this.scheduler = scheduler;
+        this.redisUtil = redisUtil;
+        this.batchSize = batchSize;
+        this.blockMillis = blockMillis;
+    }
+
+    public static String keyOf(Long roomId) {
+        return "roomId:" + roomId + ":clickStream";
+    }
+
+    @PostConstruct
+    public void start() {
+        thread = new Thread(this::run, "click-stream-reader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null)
+            thread.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                poll();
+            } catch (Exception e) {
+                if (!running)
+                    return;
+                log.error("[CLICK-STREAM] read failed", e);
+                sleep();
+            }
+        }
+    }
+
+    /**
+     * 새로 맡은 방을 복구한 뒤, 맡은 방 전체를 XREADGROUP 한 번으로 읽는다.
+     * 새 방은 다음 호출에서 합류하므로 blockMillis 만큼 늦게 읽힐 수 있다.
+     */
+    private void poll() {
+        Set<Long> rooms = scheduler.getRoomIds();
+        joined.retainAll(rooms);
+        for (Long roomId : rooms) {
+            if (!joined.contains(roomId)) {
+                recover(roomId);
+                joined.add(roomId);
+            }
+        }
+
+        if (joined.isEmpty()) {
+            sleep();
+            return;
+        }
+
+        List<StreamOffset<String>> offsets = new ArrayList<>(joined.size());
+        for (Long roomId : joined)
+            offsets.add(StreamOffset.create(keyOf(roomId), ReadOffset.lastConsumed()));
+
+        dispatch(redisUtil.readGroup(GROUP, nodeId, batchSize, blockMillis, offsets));
+    }
+
+    /**
+     * 다른 노드가 읽고 확인하지 않은 클릭과 이 노드가 재시작 전에 읽은 클릭을 stream 순서대로 다시 처리한다.
+     * 스냅샷의 마지막 항목까지는 이미 반영되었으므로 확인만 한다.
+     */
+    private void recover(Long roomId) {
+        String key = keyOf(roomId);
+        redisUtil.createGroup(key, GROUP);
+        RecordId lastApplied = redisUtil.getLastApplied(roomId);
+
+        int claimed = redisUtil.claimPending(key, GROUP, nodeId, RECOVER_BATCH_SIZE);
+        if (claimed > 0)
+            log.info("[CLICK-STREAM] claimed {} pending clicks roomId={}", claimed, roomId);
+
+        List<StreamOffset<String>> pending = List.of(StreamOffset.create(key, ReadOffset.from("0")));
+        List<MapRecord<String, Object, Object>> records;
+        do {
+            records = redisUtil.readGroup(GROUP, nodeId, RECOVER_BATCH_SIZE, 0, pending);
+            dispatch(skipApplied(roomId, records, lastApplied));
+            if (!records.isEmpty())
+                pending = List.of(StreamOffset.create(key, ReadOffset.from(records.get(records.size() - 1).getId())));
+        } while (records.size() == RECOVER_BATCH_SIZE);
+    }
+
+    private void dispatch(List<MapRecord<String, Object, Object>> records) {
+        Map<Long, List<RecordId>> dropped = new HashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            Long roomId = roomIdOf(record.getStream());
+            ClickDTO click = redisUtil.getStreamValue(record, ClickDTO.class);
+            if (click == null || !scheduler.dispatch(roomId, record.getId(), click))
+                dropped.computeIfAbsent(roomId, id -> new ArrayList<>()).add(record.getId());
+        }
+
+        dropped.forEach((roomId, ids) -> redisUtil.acknowledge(keyOf(roomId), GROUP, ids));
+    }
+
+    private List<MapRecord<String, Object, Object>> skipApplied(Long roomId, List<MapRecord<String, Object, Object>> records, RecordId lastApplied) {
+        if (lastApplied == null)
+            return records;
+
+        List<MapRecord<String, Object, Object>> remaining = new ArrayList<>(records.size());
+        List<RecordId> applied = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            if (compare(record.getId(), lastApplied) <= 0)
+                applied.add(record.getId());
+            else
+                remaining.add(record);
+        }
+
+        if (!applied.isEmpty()) {
+            log.info("[CLICK-STREAM] skipping {} clicks already in snapshot roomId={}", applied.size(), roomId);
+            redisUtil.acknowledge(keyOf(roomId), GROUP, applied);
+        }
+        return remaining;
+    }
+
+    static int compare(RecordId a, RecordId b) {
+        int byTime = Long.compare(a.getTimestamp(), b.getTimestamp());
+        return byTime != 0 ? byTime : Long.compare(a.getSequence(), b.getSequence());
+    }
+
+    private static Long roomIdOf(String key) {
+        return Long.parseLong(key.substring("roomId:".length(), key.lastIndexOf(':')));
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(IDLE_SLEEP_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.wak.game.domain.round.thread;
+
+import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.domain.round.state.RoomState;
+import com.wak.game.global.error.ErrorInfo;
+import com.wak.game.global.error.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * 방 게임 루프와 타이머를 공용 스레드 풀에서 실행한다.
+ * 방마다 스레드를 만들지 않고, 클릭이 들어온 방만 풀의 작업으로 실행된다.
+ */
+@Slf4j
+@Component
+public class GameLoopScheduler implements MeterBinder {
+
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxRooms;
+    private final long broadcastTickMillis;
+    private final int keyframeTicks;
+    private final ThreadPoolExecutor loopExecutor;
+    private final ScheduledThreadPoolExecutor timerExecutor;
+    private final ConcurrentHashMap<Long, ClickEventProcessor> loops = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<ScheduledFuture<?>>> timers = new ConcurrentHashMap<>();
+    private Counter rejectedCounter;
+    private Timer driftTimer;
+
+    public GameLoopScheduler(@Value("${game.loop.threads:8}") int threads,
+                             @Value("${game.loop.queue-capacity:10000}") int queueCapacity,
+                             @Value("${game.loop.timer-threads:2}") int timerThreads,
+                             @Value("${game.loop.max-rooms:2000}") int maxRooms,
+                             @Value("${game.broadcast.tick-millis:50}") long broadcastTickMillis,
+                             @Value("${game.broadcast.keyframe-ticks:40}") int keyframeTicks) {
+        this.maxRooms = maxRooms;
+        this.broadcastTickMillis = broadcastTickMillis;
+        this.keyframeTicks = keyframeTicks;
+        this.loopExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreadFactory("game-loop-"), new ThreadPoolExecutor.AbortPolicy());
+        this.timerExecutor = new ScheduledThreadPoolExecutor(timerThreads, namedThreadFactory("game-timer-"));
+        this.timerExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    public Executor getLoopExecutor() {
+        return loopExecutor;
+    }
+
+    public long getBroadcastTickMillis() {
+        return broadcastTickMillis;
+    }
+
+    public int getKeyframeTicks() {
+        return keyframeTicks;
+    }
+
+    public void checkCapacity() {
+        if (loops.size() >= maxRooms)
+            throw new BusinessException(ErrorInfo.THREAD_CAPACITY_EXCEEDED);
+    }
+
+    public void register(Long roomId, ClickEventProcessor processor) {
+        checkCapacity();
+
+        ClickEventProcessor previous = loops.put(roomId, processor);
+        if (previous != null)
+            previous.stop();
+    }
+
+    /**
+     * @param recordId 게임 루프가 처리를 마친 뒤 확인할 click stream 항목
+     */
+    public boolean dispatch(Long roomId, RecordId recordId, ClickDTO click) {
+        ClickEventProcessor processor = loops.get(roomId);
+        if (processor == null)
+            return false;
+
+        try {
+            return processor.offer(recordId, click);
+        } catch (RejectedExecutionException e) {
+            if (rejectedCounter != null)
+                rejectedCounter.increment();
+            log.warn("[GAME-LOOP] queue is full, click is not scheduled roomId={}", roomId);
+            return false;
+        }
+    }
+
+    /**
+     * 방 상태를 읽는 작업을 방의 게임 루프에서 실행한다.
+     *
+     * @return 이 노드에 방의 게임 루프가 없거나 예약하지 못한 경우 false
+     */
+    public boolean submit(Long roomId, Consumer<RoomState> task) {
+        ClickEventProcessor processor = loops.get(roomId);
+        return processor != null && processor.submit(task);
+    }
+
+    /**
+     * 방의 게임 루프와 예약된 타이머를 모두 취소한다.
+     */
+    public void cancel(Long roomId) {
+        ClickEventProcessor processor = loops.remove(roomId);
+        if (processor != null)
+            processor.stop();
+
+        Set<ScheduledFuture<?>> roomTimers = timers.remove(roomId);
+        if (roomTimers != null)
+            roomTimers.forEach(future -> future.cancel(false));
+    }
+
+    /**
+     * from 초부터 0 초까지 1초 간격으로 tick 을 호출한 뒤 onFinish 를 실행한다.
+     *
+     * @return 타이머를 먼저 멈출 때 cancelTimer 에 넘긴다
+     */
+    public ScheduledFuture<?> countDown(Long roomId, int from, IntConsumer tick, Runnable onFinish) {
+        AtomicInteger remaining = new AtomicInteger(from);
+        CompletableFuture<ScheduledFuture<?>> self = new CompletableFuture<>();
+        long startNanos = System.nanoTime();
+
+        ScheduledFuture<?> future = timerExecutor.scheduleAtFixedRate(() -> {
+            int sec = remaining.getAndDecrement();
+            recordDrift(startNanos + (from - sec) * TICK_NANOS);
+            if (sec < 0) {
+                self.thenAccept(future -> cancelTimer(roomId, future));
+                if (onFinish != null)
+                    onFinish.run();
+                return;
+            }
+            tick.accept(sec);
+        }, 0, 1, TimeUnit.SECONDS);
+
+        addTimer(roomId, future);
+        self.complete(future);
+        return future;
+    }
+
+    /**
+     * 방이 취소되거나 cancelTimer 로 멈출 때까지 periodMillis 간격으로 task 를 실행한다.
+     */
+    public ScheduledFuture<?> every(Long roomId, long periodMillis, Runnable task) {
+        ScheduledFuture<?> future = timerExecutor.scheduleAtFixedRate(task, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        addTimer(roomId, future);
+        return future;
+    }
+
+    /**
+     * 방의 타이머 하나를 멈춘다. 남은 타이머가 없으면 방의 항목도 지운다.
+     */
+    public void cancelTimer(Long roomId, ScheduledFuture<?> future) {
+        if (future == null)
+            return;
+
+        future.cancel(false);
+        timers.computeIfPresent(roomId, (id, roomTimers) -> {
+            roomTimers.remove(future);
+            return roomTimers.isEmpty() ? null : roomTimers;
+        });
+    }
+
+    private void addTimer(Long roomId, ScheduledFuture<?> future) {
+        timers.compute(roomId, (id, roomTimers) -> {
+            Set<ScheduledFuture<?>> result = roomTimers == null ? ConcurrentHashMap.newKeySet() : roomTimers;
+            result.add(future);
+            return result;
+        });
+    }
+
+    public Set<Long> getRoomIds() {
+        return Set.copyOf(loops.keySet());
+    }
+
+    public boolean hasLoop(Long roomId) {
+        return loops.containsKey(roomId);
+    }
+
+    /**
+     * @return 이 노드가 실행 중인 방의 진행 중인 라운드 id, 클릭을 받을 수 없으면 null
+     */
+    public Long acceptClick(Long roomId, Long userId, Long victimId) {
+        ClickEventProcessor processor = loops.get(roomId);
+        return processor == null ? null : processor.acceptClick(userId, victimId);
+    }
+
+    private void recordDrift(long expectedNanos) {
+        if (driftTimer != null)
+            driftTimer.record(Math.max(0, System.nanoTime() - expectedNanos), TimeUnit.NANOSECONDS);
+    }
+
+    public int getActiveRoomCount() {
+        return loops.size();
+    }
+
+    public int getQueueDepth() {
+        return loopExecutor.getQueue().size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("game.loop.rooms.active", loops, ConcurrentHashMap::size)
+                .description("Rooms with a running game loop")
+                .register(registry);
+        Gauge.builder("game.loop.queue.depth", this, GameLoopScheduler::getQueueDepth)
+                .description("Room drain tasks waiting for a game loop thread")
+                .register(registry);
+        Gauge.builder("game.loop.threads.active", loopExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Game loop threads currently processing a room")
+                .register(registry);
+        Gauge.builder("game.loop.timers.active", timerExecutor, executor -> executor.getQueue().size())
+                .description("Scheduled room timers")
+                .register(registry);
+        rejectedCounter = Counter.builder("game.loop.rejected")
+                .description("Clicks that could not be scheduled because the loop queue was full")
+                .register(registry);
+        driftTimer = Timer.builder("game.timer.drift")
+                .description("Delay between a timer tick's due time and its execution")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loops.keySet().forEach(this::cancel);
+        timerExecutor.shutdownNow();
+        loopExecutor.shutdown();
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
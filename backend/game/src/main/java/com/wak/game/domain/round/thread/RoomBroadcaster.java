@@ -0,0 +1,111 @@
+package com.wak.game.domain.round.thread;
+
+import com.wak.game.application.response.SummaryCountResponse;
+import com.wak.game.application.response.socket.BattleFeildInGameResponse;
+import com.wak.game.application.response.socket.BattleFieldDeltaResponse;
+import com.wak.game.application.response.socket.BattleFieldDeltaResponse.StaminaDelta;
+import com.wak.game.application.response.socket.RankDeltaResponse;
+import com.wak.game.application.response.socket.RankDeltaResponse.RankDelta;
+import com.wak.game.application.response.socket.RankListResponse;
+import com.wak.game.domain.round.state.RoomState;
+import com.wak.game.global.util.SocketUtil;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 방 상태 변경을 tick 단위로 모아 바뀐 부분만 내보낸다.
+ * keyframeTicks 마다 변경이 있었으면 기존 토픽으로 전체 상태를 보내 누락된 delta 를 보정한다.
+ * 방 처리 스레드에서만 호출된다.
+ */
+public class RoomBroadcaster {
+    private final Long roomId;
+    private final SocketUtil socketUtil;
+    private final int keyframeTicks;
+    private long seq;
+    private int ticksSinceKeyframe;
+    private volatile boolean changedSinceKeyframe;
+    private int sentAliveCount;
+
+    public RoomBroadcaster(Long roomId, SocketUtil socketUtil, int keyframeTicks) {
+        this.roomId = roomId;
+        this.socketUtil = socketUtil;
+        this.keyframeTicks = keyframeTicks;
+    }
+
+    /**
+     * 새 라운드의 상태를 기준점으로 삼는다. 라운드 시작 시 전체 상태는 호출한 쪽에서 보낸다.
+     */
+    public void reset(RoomState state) {
+        state.pollStaminaChanges();
+        state.pollRankChanges();
+        sentAliveCount = state.getAliveCount();
+        ticksSinceKeyframe = 0;
+        changedSinceKeyframe = false;
+    }
+
+    /**
+     * @return 보낼 keyframe 이 남아있지 않으면 true. 타이머 스레드에서 읽는다.
+     */
+    public boolean isIdle() {
+        return !changedSinceKeyframe;
+    }
+
+    public void flush(RoomState state, int roundNumber) {
+        ticksSinceKeyframe++;
+
+        if (state.hasChanges()) {
+            sendDeltas(state, roundNumber);
+            changedSinceKeyframe = true;
+        }
+
+        if (ticksSinceKeyframe >= keyframeTicks) {
+            if (changedSinceKeyframe)
+                sendKeyframe(state, roundNumber);
+            ticksSinceKeyframe = 0;
+            changedSinceKeyframe = false;
+        }
+    }
+
+    private void sendDeltas(RoomState state, int roundNumber) {
+        long next = ++seq;
+
+        BitSet staminaChanges = state.pollStaminaChanges();
+        if (!staminaChanges.isEmpty()) {
+            List<StaminaDelta> players = new ArrayList<>(staminaChanges.cardinality());
+            for (int slot = staminaChanges.nextSetBit(0); slot >= 0; slot = staminaChanges.nextSetBit(slot + 1)) {
+                players.add(new StaminaDelta(state.getUserId(slot), state.getStamina(slot)));
+            }
+            socketUtil.sendMessage("/games/" + roomId + "/battle-field/delta", new BattleFieldDeltaResponse(state.getRoundId(), next, players));
+        }
+
+        BitSet rankChanges = state.pollRankChanges();
+        if (!rankChanges.isEmpty()) {
+            List<RankDelta> ranks = new ArrayList<>(rankChanges.cardinality());
+            for (int slot = rankChanges.nextSetBit(0); slot >= 0; slot = rankChanges.nextSetBit(slot + 1)) {
+                ranks.add(new RankDelta(state.getUserId(slot), state.getKills(slot), state.getPosition(slot)));
+            }
+            socketUtil.sendMessage("/games/" + roomId + "/rank/delta", new RankDeltaResponse(state.getRoundId(), next, ranks));
+        }
+
+        if (state.getAliveCount() != sentAliveCount) {
+            sentAliveCount = state.getAliveCount();
+            socketUtil.sendMessage("/games/" + roomId + "/dashboard", summaryOf(state, roundNumber));
+        }
+    }
+
+    private void sendKeyframe(RoomState state, int roundNumber) {
+        socketUtil.sendMessage("/games/" + roomId + "/battle-field", new BattleFeildInGameResponse(false, state.getPlayers()));
+        socketUtil.sendMessage("/games/" + roomId + "/rank", new RankListResponse(state.getRanks()));
+        socketUtil.sendMessage("/games/" + roomId + "/dashboard", summaryOf(state, roundNumber));
+    }
+
+    private static SummaryCountResponse summaryOf(RoomState state, int roundNumber) {
+        return SummaryCountResponse.builder()
+                .roundNumber(roundNumber)
+                .aliveCount(state.getAliveCount())
+                .totalCount(state.getPlayerCount())
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.wak.game.domain.round.thread;
+
+import com.wak.game.domain.round.dto.ClickDTO;
+import com.wak.game.global.util.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 방의 게임 루프는 lease 를 가진 노드 하나가 소유한다.
+ * lease 는 SET NX PX 로 얻고 heartbeat 로 연장하며, 노드가 죽으면 만료되어 다른 노드가 방을 넘겨받는다.
+ * 클릭은 어느 노드로 들어오든 방의 click stream 에 추가되고, 소유 노드의 ClickStreamReader 가 읽어 게임 루프에 넣는다.
+ * 브로드캐스트는 외부 브로커를 거쳐 모든 노드의 구독자에게 전달된다.
+ */
+@Slf4j
+@Component
+public class RoomRouter {
+
+    private final String nodeId;
+    private final GameLoopScheduler scheduler;
+    private final RedisUtil redisUtil;
+    private final Duration leaseTtl;
+
+    public RoomRouter(@Value("${game.node.id:}") String nodeId,
+                      @Value("${game.node.lease-millis:10000}") long leaseMillis,
+                      GameLoopScheduler scheduler,
+                      RedisUtil redisUtil) {
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.leaseTtl = Duration.ofMillis(leaseMillis);
+        this.scheduler = scheduler;
+        this.redisUtil = redisUtil;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 방의 lease 를 얻고, 게임 루프가 취소될 때까지 ttl 의 1/3 마다 연장한다.
+     * 연장에 실패하면 다른 노드가 방을 넘겨받았을 수 있으므로 이 노드의 게임 루프를 멈춘다.
+     *
+     * @return 다른 노드가 lease 를 가지고 있으면 false
+     */
+    public boolean claim(Long roomId) {
+        if (!redisUtil.acquireLease(ownerKey(roomId), nodeId, leaseTtl))
+            return false;
+
+        scheduler.every(roomId, leaseTtl.toMillis() / 3, () -> heartbeat(roomId));
+        return true;
+    }
+
+    public void release(Long roomId) {
+        redisUtil.releaseLease(ownerKey(roomId), nodeId);
+    }
+
+    public boolean isLocal(Long roomId) {
+        return scheduler.hasLoop(roomId);
+    }
+
+    /**
+     * 클릭을 방의 click stream 에 추가한다. 게임 루프는 stream 에서 읽은 순서대로 클릭을 처리한다.
+     *
+     * @return 방을 실행 중인 노드가 없어 추가하지 않았으면 false
+     */
+    public boolean route(Long roomId, ClickDTO click) {
+        if (!scheduler.hasLoop(roomId) && redisUtil.getRoomOwner(roomId) == null)
+            return false;
+
+        redisUtil.addToStream(ClickStreamReader.keyOf(roomId), click);
+        return true;
+    }
+
+    private void heartbeat(Long roomId) {
+        try {
+            if (redisUtil.renewLease(ownerKey(roomId), nodeId, leaseTtl))
+                return;
+
+            log.warn("[ROUTER] lease lost, stopping game loop roomId={}", roomId);
+            scheduler.cancel(roomId);
+        } catch (Exception e) {
+            log.error("[ROUTER] lease heartbeat failed roomId={}", roomId, e);
+        }
+    }
+
+    private static String ownerKey(Long roomId) {
+        return "roomId:" + roomId + ":owner";
+    }
+}
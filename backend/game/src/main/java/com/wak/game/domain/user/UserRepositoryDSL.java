@@ -6,6 +6,7 @@ import java.util.Optional;
 
 public interface UserRepositoryDSL {
 
+    Optional<User> findByIdWithColor(Long id);
     Optional<User> findByNickname(String nickname);
     long countByNickname(String nickname);
 
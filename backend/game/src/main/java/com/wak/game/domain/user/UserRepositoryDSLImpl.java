@@ -11,6 +11,15 @@ import static com.wak.game.domain.user.QUser.user;
 public class UserRepositoryDSLImpl implements UserRepositoryDSL{
 
     private final JPAQueryFactory query;
+    @Override
+    public Optional<User> findByIdWithColor(Long id) {
+        return Optional.ofNullable(query.select(user)
+                .from(user)
+                .join(user.color).fetchJoin()
+                .where(user.id.eq(id))
+                .fetchOne());
+    }
+
     @Override
     public Optional<User> findByNickname(String nickname) {
         return Optional.ofNullable(query.select(user)
@@ -1,20 +1,36 @@
 package com.wak.game.domain.user;
 
 import com.wak.game.domain.color.Color;
+import com.wak.game.global.config.CacheConfig;
 import com.wak.game.global.error.ErrorInfo;
 import com.wak.game.global.error.exception.BusinessException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
 
+    /**
+     * 캐시한 User 는 영속성 컨텍스트 밖에서도 쓰이므로 color 까지 함께 읽는다.
+     */
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
     public User findById(long id) {
-        return userRepository.findById(id).orElseThrow(() -> new BusinessException(ErrorInfo.USER_NOT_EXIST));
+        return userRepository.findByIdWithColor(id).orElseThrow(() -> new BusinessException(ErrorInfo.USER_NOT_EXIST));
+    }
+
+    public Map<Long, User> findAllById(Collection<Long> ids) {
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
     }
 
     public User findByNickname(String nickname) {
@@ -0,0 +1,42 @@
+package com.wak.game.global.codec;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 타입 하나를 필드 순서대로 직접 쓰고 읽는 codec. tag 는 저장된 값의 타입을 구분하므로 한 번 정하면 바꾸지 않는다.
+ */
+public interface BinaryCodec<T> {
+
+    int tag();
+
+    Class<T> type();
+
+    void write(T value, CodecOutput out);
+
+    T read(CodecInput in);
+
+    static <T> BinaryCodec<T> of(int tag, Class<T> type, BiConsumer<T, CodecOutput> writer, Function<CodecInput, T> reader) {
+        return new BinaryCodec<>() {
+            @Override
+            public int tag() {
+                return tag;
+            }
+
+            @Override
+            public Class<T> type() {
+                return type;
+            }
+
+            @Override
+            public void write(T value, CodecOutput out) {
+                writer.accept(value, out);
+            }
+
+            @Override
+            public T read(CodecInput in) {
+                return reader.apply(in);
+            }
+        };
+    }
+}
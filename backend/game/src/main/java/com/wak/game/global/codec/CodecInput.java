@@ -0,0 +1,57 @@
+package com.wak.game.global.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CodecOutput 으로 쓴 값을 같은 순서로 읽는다.
+ */
+public class CodecInput {
+    private final byte[] buffer;
+    private int position;
+
+    public CodecInput(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        if (position >= buffer.length)
+            throw new IllegalArgumentException("unexpected end of codec payload");
+        return buffer[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public long readVarLong() {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+        throw new IllegalArgumentException("malformed varint in codec payload");
+    }
+
+    public int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    public Long readNullableLong() {
+        return readBoolean() ? readVarLong() : null;
+    }
+
+    public String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0)
+            return null;
+        if (position + length > buffer.length)
+            throw new IllegalArgumentException("unexpected end of codec payload");
+
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+}
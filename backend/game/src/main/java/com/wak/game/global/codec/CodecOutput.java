@@ -0,0 +1,72 @@
+package com.wak.game.global.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 가변 길이 정수와 UTF-8 문자열을 byte 배열에 이어 쓴다.
+ */
+public class CodecOutput {
+    private byte[] buffer;
+    private int position;
+
+    public CodecOutput(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public void writeByte(int value) {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * zigzag 인코딩 후 7bit 단위로 쓴다. 작은 값일수록 적은 byte 를 사용한다.
+     */
+    public void writeVarLong(long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        ensure(10);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer[position++] = (byte) zigzag;
+    }
+
+    public void writeVarInt(int value) {
+        writeVarLong(value);
+    }
+
+    public void writeNullableLong(Long value) {
+        writeBoolean(value != null);
+        if (value != null)
+            writeVarLong(value);
+    }
+
+    /**
+     * 길이 + 1 을 먼저 쓰고, null 은 길이 0 으로 표현한다.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensure(int length) {
+        if (position + length > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+    }
+}
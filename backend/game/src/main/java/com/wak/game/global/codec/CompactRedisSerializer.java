@@ -0,0 +1,74 @@
+package com.wak.game.global.codec;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * codec 이 등록된 타입은 MAGIC + tag + 필드 순서의 binary 로, 그 외 타입은 JSON 으로 저장한다.
+ * 읽을 때는 첫 byte 로 두 형식을 구분하므로 JSON 으로 저장된 기존 값도 그대로 읽을 수 있다.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+    /**
+     * JSON 의 첫 byte 로 올 수 없는 값.
+     */
+    static final byte MAGIC = (byte) 0xC7;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final Map<Class<?>, BinaryCodec<?>> byType = new HashMap<>();
+    private final Map<Integer, BinaryCodec<?>> byTag = new HashMap<>();
+    private final boolean writeBinary;
+
+    /**
+     * @param writeBinary false 면 JSON 으로만 쓴다. 모든 노드가 binary 를 읽을 수 있게 된 뒤 켠다.
+     */
+    public CompactRedisSerializer(List<BinaryCodec<?>> codecs, boolean writeBinary) {
+        this.writeBinary = writeBinary;
+        for (BinaryCodec<?> codec : codecs) {
+            if (codec.tag() <= 0 || codec.tag() > 0xFF || byTag.putIfAbsent(codec.tag(), codec) != null)
+                throw new IllegalArgumentException("invalid or duplicated codec tag: " + codec.tag());
+            byType.put(codec.type(), codec);
+        }
+    }
+
+    public static CompactRedisSerializer of(String mode) {
+        return new CompactRedisSerializer(GameCodecs.all(), "binary".equalsIgnoreCase(mode));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object value) throws SerializationException {
+        BinaryCodec<Object> codec = value == null ? null : (BinaryCodec<Object>) byType.get(value.getClass());
+        if (!writeBinary || codec == null)
+            return json.serialize(value);
+
+        CodecOutput out = new CodecOutput(INITIAL_CAPACITY);
+        out.writeByte(MAGIC);
+        out.writeByte(codec.tag());
+        codec.write(value, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0)
+            return null;
+        if (bytes[0] != MAGIC)
+            return json.deserialize(bytes);
+
+        try {
+            CodecInput in = new CodecInput(bytes, 1);
+            BinaryCodec<?> codec = byTag.get(in.readByte());
+            if (codec == null)
+                throw new SerializationException("unknown codec tag: " + (bytes[1] & 0xFF));
+            return codec.read(in);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("could not read binary value", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.wak.game.global.codec;
+
+import com.wak.game.application.vo.RoomVO;
+import com.wak.game.domain.player.dto.PlayerInfo;
+import com.wak.game.domain.rank.dto.RankInfo;
+import com.wak.game.domain.room.dto.RoomInfo;
+import com.wak.game.domain.round.dto.ClickDTO;
+
+import java.util.List;
+
+/**
+ * Redis 에 자주 저장되는 게임 상태 타입의 codec 목록.
+ * 필드를 추가할 때는 기존 tag 를 수정하지 말고 새 tag 로 codec 을 추가한다.
+ */
+public final class GameCodecs {
+
+    public static final BinaryCodec<PlayerInfo> PLAYER_INFO = BinaryCodec.of(1, PlayerInfo.class,
+            (player, out) -> {
+                out.writeNullableLong(player.getRoundId());
+                out.writeNullableLong(player.getUserId());
+                out.writeString(player.getColor());
+                out.writeString(player.getNickname());
+                out.writeString(player.getTeam());
+                out.writeBoolean(player.getIsHost());
+                out.writeVarInt(player.getStamina());
+            },
+            in -> new PlayerInfo(in.readNullableLong(), in.readNullableLong(), in.readString(), in.readString(), in.readString(), in.readBoolean(), in.readVarInt()));
+
+    public static final BinaryCodec<RankInfo> RANK_INFO = BinaryCodec.of(2, RankInfo.class,
+            (rank, out) -> {
+                out.writeNullableLong(rank.getUserId());
+                out.writeString(rank.getNickname());
+                out.writeVarInt(rank.getKillCnt());
+                out.writeString(rank.getColor());
+            },
+            in -> new RankInfo(in.readNullableLong(), in.readString(), in.readVarInt(), in.readString()));
+
+    public static final BinaryCodec<RoomInfo> ROOM_INFO = BinaryCodec.of(3, RoomInfo.class,
+            (room, out) -> {
+                out.writeVarLong(room.getRoomId());
+                out.writeString(room.getRoomName());
+                out.writeVarInt(room.getCurrentPlayers());
+                out.writeVarInt(room.getLimitPlayers());
+                out.writeString(room.getMode());
+                out.writeBoolean(room.getIsStart());
+                out.writeBoolean(room.getIsPublic());
+            },
+            in -> new RoomInfo(in.readVarLong(), in.readString(), in.readVarInt(), in.readVarInt(), in.readString(), in.readBoolean(), in.readBoolean()));
+
+    public static final BinaryCodec<RoomVO> ROOM_VO = BinaryCodec.of(4, RoomVO.class,
+            (user, out) -> {
+                out.writeNullableLong(user.userId());
+                out.writeString(user.color());
+                out.writeString(user.nickname());
+                out.writeString(user.team());
+                out.writeBoolean(user.isHost());
+            },
+            in -> new RoomVO(in.readNullableLong(), in.readString(), in.readString(), in.readString(), in.readBoolean()));
+
+    public static final BinaryCodec<ClickDTO> CLICK = BinaryCodec.of(5, ClickDTO.class,
+            (click, out) -> {
+                out.writeNullableLong(click.getUserId());
+                out.writeNullableLong(click.getVictimId());
+                out.writeNullableLong(click.getRoundId());
+                out.writeString(click.getTime());
+                out.writeNullableLong(click.getNanoSec());
+            },
+            in -> new ClickDTO(in.readNullableLong(), in.readNullableLong(), in.readNullableLong(), in.readString(), in.readNullableLong()));
+
+    private GameCodecs() {
+    }
+
+    public static List<BinaryCodec<?>> all() {
+        return List.of(PLAYER_INFO, RANK_INFO, ROOM_INFO, ROOM_VO, CLICK);
+    }
+}
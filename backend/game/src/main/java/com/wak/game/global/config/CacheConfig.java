@@ -0,0 +1,44 @@
+package com.wak.game.global.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String COLORS = "colors";
+    public static final String ROOMS = "rooms";
+
+    /**
+     * 클릭과 결과 전송마다 조회하는 User, Color, Room 을 노드마다 메모리에 둔다.
+     * 이 노드에서 바뀐 Room 은 바로 지우고, 다른 노드에서 바뀐 Room 은 rooms ttl 이 지나면 다시 읽는다.
+     *
+     * @return cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${game.cache.max-size:10000}") long maxSize,
+                                     @Value("${game.cache.users-ttl-seconds:600}") long usersTtl,
+                                     @Value("${game.cache.colors-ttl-seconds:3600}") long colorsTtl,
+                                     @Value("${game.cache.rooms-ttl-seconds:5}") long roomsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USERS, cache(maxSize, usersTtl).build());
+        cacheManager.registerCustomCache(COLORS, cache(maxSize, colorsTtl).build());
+        cacheManager.registerCustomCache(ROOMS, cache(maxSize, roomsTtl).build());
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> cache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats();
+    }
+}
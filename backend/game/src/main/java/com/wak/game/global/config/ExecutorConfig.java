@@ -0,0 +1,27 @@
+package com.wak.game.global.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 방 상태 스냅샷을 Redis 에 반영하는 Executor.
+     * 방 처리 스레드가 네트워크 왕복을 기다리지 않도록 쓰기를 넘겨받는다.
+     *
+     * @return snapshot executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor snapshotExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setThreadNamePrefix("room-snapshot-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,15 +1,47 @@
 package com.wak.game.global.config;
 
+import com.wak.game.global.metrics.OutboundMessageMetricsInterceptor;
+import com.wak.game.global.token.StompAuthInterceptor;
+import com.wak.game.global.token.StompAuthUserArgumentResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
+
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final OutboundMessageMetricsInterceptor outboundMessageMetricsInterceptor;
+    private final StompAuthInterceptor stompAuthInterceptor;
+    private final StompAuthUserArgumentResolver stompAuthUserArgumentResolver;
+
+    @Value("${broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${broker.relay.virtual-host:/}")
+    private String relayVirtualHost;
+
 	@Override
 	public void registerStompEndpoints(StompEndpointRegistry registry) {
 		registry.addEndpoint("/socket", "/api/socket")
@@ -17,9 +49,43 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 			.withSockJS(); // apic test 시 주석 처리 필요
 	}
 
+    /**
+     * broker.mode 가 relay 이면 외부 STOMP 브로커로 구독을 넘긴다.
+     * 어느 노드에서 보낸 메시지든 모든 노드의 구독자에게 전달되므로 방을 여러 노드에 나눠 실행할 수 있다.
+     * destination 이 /topic/games/{id}/dashboard 처럼 '/' 로 나뉘어 있으므로 이를 그대로 address 로 쓰는 ActiveMQ Artemis 만 지원한다.
+     * RabbitMQ 의 STOMP plugin 은 /topic/ 뒤에 '/' 가 들어간 destination 을 받지 않는다.
+     */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setVirtualHost(relayVirtualHost)
+                    .setUserDestinationBroadcast("/topic/unresolved-user")
+                    .setUserRegistryBroadcast("/topic/user-registry");
+        } else {
+            registry.enableSimpleBroker("/topic");
+        }
         registry.setApplicationDestinationPrefixes("/app");
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(outboundMessageMetricsInterceptor);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
+        argumentResolvers.add(stompAuthUserArgumentResolver);
+    }
 }
@@ -0,0 +1,159 @@
+package com.wak.game.global.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 엔티티의 JPA 매핑에서 INSERT 할 column 과 값을 읽는다.
+ * IDENTITY id 라 Hibernate 가 INSERT 를 batch 하지 못하는 엔티티를 JDBC batch 로 넣을 때 사용한다.
+ * 필드가 추가되어도 SQL 을 고칠 필요가 없고, 읽을 수 없는 매핑은 만들 때 실패한다.
+ */
+public final class EntityColumns<T> {
+    private final String table;
+    private final List<Field> fields;
+    private final List<String> columns;
+
+    private EntityColumns(String table, List<Field> fields, List<String> columns) {
+        this.table = table;
+        this.fields = fields;
+        this.columns = columns;
+    }
+
+    public static <T> EntityColumns<T> of(Class<T> type) {
+        Table table = type.getAnnotation(Table.class);
+        if (!type.isAnnotationPresent(Entity.class) || table == null || table.name().isEmpty())
+            throw new IllegalStateException(type.getSimpleName() + " needs @Entity and @Table(name)");
+
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
+            hierarchy.add(0, current);
+
+        List<Field> fields = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            if (!current.isAnnotationPresent(Entity.class) && !current.isAnnotationPresent(MappedSuperclass.class))
+                continue;
+
+            for (Field field : current.getDeclaredFields()) {
+                String column = columnOf(field);
+                if (column == null)
+                    continue;
+
+                field.setAccessible(true);
+                fields.add(field);
+                columns.add(column);
+            }
+        }
+        return new EntityColumns<>(table.name(), List.copyOf(fields), List.copyOf(columns));
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public String insertSql() {
+        return "INSERT INTO " + table
+                + " (" + columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", ")) + ")"
+                + " VALUES (" + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+    }
+
+    /**
+     * @param idOf 연관 엔티티의 id, 프록시도 초기화하지 않고 읽어야 한다
+     * @param now  비어 있는 @CreatedDate, @LastModifiedDate 값
+     */
+    public Object[] values(T entity, Function<Object, Object> idOf, LocalDateTime now) {
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            Object value = read(field, entity);
+
+            if (value == null && (field.isAnnotationPresent(CreatedDate.class) || field.isAnnotationPresent(LastModifiedDate.class)))
+                value = now;
+            else if (value != null && isAssociation(field))
+                value = idOf.apply(value);
+            else if (value instanceof Enum<?> constant)
+                value = isOrdinal(field) ? constant.ordinal() : constant.name();
+
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private static String columnOf(Field field) {
+        if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                || field.isAnnotationPresent(Transient.class)
+                || field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToMany.class))
+            return null;
+
+        if (field.isAnnotationPresent(Id.class)) {
+            if (field.isAnnotationPresent(GeneratedValue.class))
+                return null;
+            throw unsupported(field);
+        }
+
+        if (field.isAnnotationPresent(Embedded.class) || field.isAnnotationPresent(EmbeddedId.class)
+                || field.isAnnotationPresent(ElementCollection.class) || field.isAnnotationPresent(JoinColumns.class))
+            throw unsupported(field);
+
+        OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+        if (oneToOne != null && !oneToOne.mappedBy().isEmpty())
+            return null;
+
+        if (isAssociation(field)) {
+            JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+            if (joinColumn == null || joinColumn.name().isEmpty())
+                throw unsupported(field);
+            return joinColumn.name();
+        }
+
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty())
+            return column.name();
+        return snakeCase(field.getName());
+    }
+
+    private static boolean isAssociation(Field field) {
+        return field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class);
+    }
+
+    private static boolean isOrdinal(Field field) {
+        Enumerated enumerated = field.getAnnotation(Enumerated.class);
+        return enumerated == null || enumerated.value() == EnumType.ORDINAL;
+    }
+
+    /**
+     * Spring Boot 기본 naming strategy 와 같이 camelCase 를 snake_case 로 바꾼다.
+     */
+    static String snakeCase(String name) {
+        StringBuilder result = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && Character.isLowerCase(name.charAt(i - 1)))
+                result.append('_');
+            result.append(Character.toLowerCase(c));
+        }
+        return result.toString();
+    }
+
+    private static Object read(Field field, Object entity) {
+        try {
+            return field.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("cannot read " + field, e);
+        }
+    }
+
+    private static IllegalStateException unsupported(Field field) {
+        return new IllegalStateException("unsupported mapping for batch insert: "
+                + field.getDeclaringClass().getSimpleName() + "." + field.getName());
+    }
+}
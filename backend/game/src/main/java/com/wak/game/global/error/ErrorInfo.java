@@ -61,7 +61,9 @@ public enum ErrorInfo {
     THREAD_ID_IS_DIFFERENT(HttpStatus.NOT_FOUND, "현재 동작하는 스레드와 처리하려는 데이터의 roundId가 다릅니다."),/*나중에 지울겠습니다*/
     THREAD_DESERIALIZING_DATA(HttpStatus.BAD_REQUEST, "DATA DESERIALIZING FAIL"),
     THREAD_SERIALIZING_DATA(HttpStatus.BAD_REQUEST, "DATA SERIALIZING FAIL"),
-    THREAD_FORMAT_NOT_MATCHED(HttpStatus.BAD_REQUEST, "DATA FORMAT IS NOT MATCHED")
+    THREAD_FORMAT_NOT_MATCHED(HttpStatus.BAD_REQUEST, "DATA FORMAT IS NOT MATCHED"),
+    THREAD_CAPACITY_EXCEEDED(HttpStatus.SERVICE_UNAVAILABLE, "GAME LOOP CAPACITY EXCEEDED"),
+    ROOM_OWNED_BY_OTHER_NODE(HttpStatus.CONFLICT, "ROOM IS RUNNING ON ANOTHER NODE")
     /**/;
 
     ErrorInfo(HttpStatus httpStatus, String message) {
@@ -1,11 +1,13 @@
 package com.wak.game.global.listener;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
+@Slf4j
 @Component
 public class WebSocketEventListener {
 
@@ -14,7 +16,7 @@ public class WebSocketEventListener {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String destination = headerAccessor.getDestination();
         if (destination != null && destination.startsWith("/topic/games/")) {
-            System.out.println("User subscribed to: " + destination);
+            log.debug("[SOCKET] subscribed sessionId={} destination={}", headerAccessor.getSessionId(), destination);
         }
     }
 
@@ -22,6 +24,6 @@ public class WebSocketEventListener {
     public void handleSessionUnsubscribeEvent(SessionUnsubscribeEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
-        System.out.println("User with session ID " + sessionId + " unsubscribed");
+        log.debug("[SOCKET] unsubscribed sessionId={}", sessionId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.wak.game.global.metrics;
+
+import io.micrometer.core.instrument.*;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 게임 서버의 hot path 지표를 모아 기록한다.
+ * 태그 값은 방 번호처럼 개수가 늘어나는 값을 쓰지 않는다. 노드는 scrape 대상(instance)으로 구분한다.
+ */
+@Component
+public class GameMetrics {
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> redisTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> outboundSizes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> droppedClicks = new ConcurrentHashMap<>();
+    private final Counter clicksReceived;
+    private final Timer clickLag;
+    private final Timer roundStart;
+    private final Timer roundEnd;
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.clicksReceived = Counter.builder("game.clicks.received")
+                .description("Clicks accepted at ingestion")
+                .register(registry);
+        this.clickLag = Timer.builder("game.click.lag")
+                .description("Time between click ingestion and game loop processing")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.roundStart = Timer.builder("game.round.start")
+                .description("Time to initialize a round and start its game loop")
+                .register(registry);
+        this.roundEnd = Timer.builder("game.round.end")
+                .description("Time to settle a round and broadcast its result")
+                .register(registry);
+    }
+
+    /**
+     * 클릭은 방을 소유하지 않은 노드로도 들어오므로, 방별 카운터를 두면 게임이 끝나도 지울 노드가 없다.
+     */
+    public void clickReceived() {
+        clicksReceived.increment();
+    }
+
+    /**
+     * 방 태그 없이 버린 이유만 태그로 단다. 방을 여러 개 도는 스크립트도 카운터 개수를 늘리지 못한다.
+     */
+    public void clickDropped(String reason) {
+        droppedClicks.computeIfAbsent(reason, r -> Counter.builder("game.clicks.dropped")
+                .description("Clicks dropped at ingestion")
+                .tag("reason", r)
+                .register(registry)).increment();
+    }
+
+    /**
+     * @param receivedEpochNanos 클릭을 받은 시각 (ClickDTO.nanoSec)
+     */
+    public void recordClickLag(Long receivedEpochNanos) {
+        if (receivedEpochNanos == null)
+            return;
+
+        Instant now = Instant.now();
+        long nowEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        clickLag.record(Math.max(0, nowEpochNanos - receivedEpochNanos), TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T timeRedis(String method, Supplier<T> command) {
+        return redisTimer(method).record(command);
+    }
+
+    public void timeRedis(String method, Runnable command) {
+        redisTimer(method).record(command);
+    }
+
+    public void recordOutbound(String destination, int bytes) {
+        outboundSizes.computeIfAbsent(normalize(destination), d -> DistributionSummary.builder("game.stomp.outbound")
+                .description("STOMP messages sent to clients")
+                .baseUnit("bytes")
+                .tag("destination", d)
+                .register(registry)).record(bytes);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void stopRoundStart(Timer.Sample sample) {
+        sample.stop(roundStart);
+    }
+
+    public void stopRoundEnd(Timer.Sample sample) {
+        sample.stop(roundEnd);
+    }
+
+    /**
+     * /topic/games/12/kill-log 처럼 숫자 경로를 {id} 로 바꿔 태그 값의 개수를 제한한다.
+     */
+    static String normalize(String destination) {
+        if (destination == null)
+            return "none";
+        return NUMERIC_SEGMENT.matcher(destination).replaceAll("/{id}");
+    }
+
+    private Timer redisTimer(String method) {
+        return redisTimers.computeIfAbsent(method, m -> Timer.builder("game.redis.command")
+                .description("Redis command latency by RedisUtil method")
+                .tag("method", m)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry));
+    }
+}
@@ -0,0 +1,28 @@
+package com.wak.game.global.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 클라이언트로 나가는 STOMP 메시지의 수와 크기를 목적지별로 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboundMessageMetricsInterceptor implements ChannelInterceptor {
+
+    private final GameMetrics gameMetrics;
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent || !(message.getPayload() instanceof byte[] payload))
+            return;
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null)
+            gameMetrics.recordOutbound(destination, payload.length);
+    }
+}
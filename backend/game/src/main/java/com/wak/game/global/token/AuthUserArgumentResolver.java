@@ -6,6 +6,7 @@ import org.springframework.core.MethodParameter;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
@@ -22,6 +23,10 @@ public class AuthUserArgumentResolver implements HandlerMethodArgumentResolver {
 
     @Override
     public Long resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer, NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        Object userId = webRequest.getAttribute(JWTInterceptor.USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (userId instanceof Long id)
+            return id;
+
         String token = webRequest.getHeader("Authorization").substring(7);
         return jwtUtils.getId(token);
     }
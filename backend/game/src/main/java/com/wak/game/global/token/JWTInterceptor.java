@@ -8,11 +8,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.util.Date;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JWTInterceptor implements HandlerInterceptor {
 
+    public static final String USER_ID_ATTRIBUTE = "user_id";
+
     private final JWTUtils jwtUtils;
 
     @Override
@@ -24,10 +28,9 @@ public class JWTInterceptor implements HandlerInterceptor {
         final String authHeader = request.getHeader("Authorization");
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            Long user_id = jwtUtils.getId(token);
-            if (user_id != null && !jwtUtils.isExpired(token)) {
-                request.setAttribute("user_id", user_id);
+            TokenClaims claims = jwtUtils.verify(authHeader.substring(7));
+            if (claims.userId() != null && claims.expiration().after(new Date())) {
+                request.setAttribute(USER_ID_ATTRIBUTE, claims.userId());
                 return true; // JWT가 유효하면 요청을 계속 진행
             }
         }
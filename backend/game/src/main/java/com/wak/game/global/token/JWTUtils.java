@@ -19,16 +19,23 @@ public class JWTUtils {
 
     public static final long ACCESS_TOKEN_EXPIRE_TIME =  14 * 24 * 60 * 60 * 1000; // 14일
     private final Key key;
+    private final VerifiedTokenCache verifiedTokens;
 
 
-    public JWTUtils(@Value("${spring.jwt.secret}") String secretKey){
+    public JWTUtils(@Value("${spring.jwt.secret}") String secretKey,
+                    @Value("${game.token-cache.max-size:100000}") long tokenCacheSize){
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.verifiedTokens = new VerifiedTokenCache(tokenCacheSize);
     }
 
-    public String createJwt(long user_id) {
+    /**
+     * chat 서버가 사용자 정보를 조회하지 않도록 nickname 도 claim 에 담는다.
+     */
+    public String createJwt(long user_id, String nickname) {
         Claims claims = Jwts.claims();
         claims.put("user_id", user_id);
+        claims.put("nickname", nickname);
         long now = (new Date().getTime());
 
         String token = Jwts.builder()
@@ -40,14 +47,24 @@ public class JWTUtils {
         return token;
     }
 
+    /**
+     * token 을 검증하고 claim 을 돌려준다. 한 번 검증한 token 은 exp 까지 다시 검증하지 않는다.
+     */
+    public TokenClaims verify(String token) {
+        return verifiedTokens.get(token, this::parse);
+    }
+
     public Long getId(String token) {
-        return Jwts.parser().setSigningKey(key).parseClaimsJws(token)
-                .getBody().get("user_id", Long.class);
+        return verify(token).userId();
     }
 
     public boolean isExpired(String token) {
-        return Jwts.parser().setSigningKey(key).parseClaimsJws(token)
-                .getBody().getExpiration().before(new Date());
+        return verify(token).expiration().before(new Date());
+    }
+
+    private TokenClaims parse(String token) {
+        Claims claims = Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody();
+        return new TokenClaims(claims.get("user_id", Long.class), claims.get("nickname", String.class), claims.getExpiration());
     }
 
 }
@@ -0,0 +1,59 @@
+package com.wak.game.global.token;
+
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * CONNECT 의 token 을 검증해 userId 를 STOMP 세션에 묶는다.
+ * token 없이 연결한 세션은 구독만 할 수 있고, SEND 는 userId 가 묶인 세션에서만 받는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthInterceptor implements ChannelInterceptor {
+    private final JWTUtils jwtUtils;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            String header = accessor.getFirstNativeHeader("Authorization");
+            if (header != null && attributes != null)
+                attributes.put(JWTInterceptor.USER_ID_ATTRIBUTE, verify(header));
+            return message;
+        }
+
+        if (accessor.getCommand() == StompCommand.SEND && (attributes == null || attributes.get(JWTInterceptor.USER_ID_ATTRIBUTE) == null))
+            throw new MessageDeliveryException("Unauthorized");
+
+        return message;
+    }
+
+    private Long verify(String header) {
+        if (!header.startsWith("Bearer "))
+            throw new MessageDeliveryException("Unauthorized");
+
+        try {
+            TokenClaims claims = jwtUtils.verify(header.substring(7));
+            if (claims.userId() == null || claims.expiration().before(new Date()))
+                throw new MessageDeliveryException("Unauthorized");
+            return claims.userId();
+        } catch (JwtException e) {
+            log.info("[AUTH] invalid token on CONNECT: {}", e.getMessage());
+            throw new MessageDeliveryException("Unauthorized");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.wak.game.global.token;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * STOMP 메시지의 @AuthUser 에 CONNECT 때 세션에 묶은 userId 를 넣는다.
+ */
+@Component
+public class StompAuthUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterAnnotation(AuthUser.class) != null && parameter.getParameterType().equals(Long.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, Message<?> message) {
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        Object userId = attributes == null ? null : attributes.get(JWTInterceptor.USER_ID_ATTRIBUTE);
+        if (userId instanceof Long id)
+            return id;
+
+        throw new MessageDeliveryException(message, "Unauthorized");
+    }
+}
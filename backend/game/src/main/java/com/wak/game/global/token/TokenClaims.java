@@ -0,0 +1,9 @@
+package com.wak.game.global.token;
+
+import java.util.Date;
+
+/**
+ * 서명을 검증한 token 의 claim.
+ */
+public record TokenClaims(Long userId, String nickname, Date expiration) {
+}
@@ -0,0 +1,69 @@
+package com.wak.game.global.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 서명을 검증한 token 의 claim 을 token 의 SHA-256 별로 보관한다.
+ * 항목은 token 의 exp 에 만료되므로, 만료된 token 은 다시 검증되어 거절된다. 검증에 실패한 token 은 보관하지 않는다.
+ */
+public class VerifiedTokenCache {
+    /**
+     * exp 가 없는 token 을 보관하는 시간.
+     */
+    private static final long MAX_TTL_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private final Cache<String, TokenClaims> verified;
+
+    public VerifiedTokenCache(long maxSize) {
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                        if (claims.expiration() == null)
+                            return MAX_TTL_NANOS;
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, claims.expiration().getTime() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @param verifier 보관된 claim 이 없을 때 token 을 검증한다. 예외를 던지면 그대로 전달된다
+     */
+    public TokenClaims get(String token, Function<String, TokenClaims> verifier) {
+        return verified.get(hash(token), key -> verifier.apply(token));
+    }
+
+    public long size() {
+        return verified.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -7,11 +7,23 @@ import com.wak.game.application.vo.RoomVO;
 import com.wak.game.domain.user.User;
 import com.wak.game.global.error.ErrorInfo;
 import com.wak.game.global.error.exception.BusinessException;
+import com.wak.game.global.metrics.GameMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -19,25 +31,72 @@ import java.util.stream.Collectors;
 @Component
 @RequiredArgsConstructor
 public class RedisUtil {
+    private static final String STREAM_VALUE_FIELD = "v";
+    private static final String LOBBY_INFO_KEY = "roomInfo";
+    private static final String LOBBY_INDEX_KEY = "roomIndex";
+    private static final String LOBBY_VERSION_KEY = "roomIndex:version";
+    private static final String LOBBY_PUBLISHED_KEY = "roomIndex:published";
+    /**
+     * 시작한 방의 score 에 더하는 값. roomId 가 이보다 작은 동안 score 는 double 로 정확히 표현된다.
+     */
+    private static final double STARTED_SCORE = 1L << 50;
+    private static final RedisScript<Long> RENEW_LEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end", Long.class);
+    private static final RedisScript<Long> RELEASE_LEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+    /**
+     * page 별로 마지막에 전송한 fingerprint 와 그때의 로비 version 을 보관한다. 더 새 version 이 기록된 page 는 건너뛴다.
+     */
+    private static final RedisScript<Long> MARK_LOBBY_PAGE = new DefaultRedisScript<>(
+            "local version = tonumber(redis.call('hget', KEYS[1], ARGV[1] .. ':v') or '-1') "
+                    + "if version > tonumber(ARGV[2]) then return 0 end "
+                    + "redis.call('hset', KEYS[1], ARGV[1] .. ':v', ARGV[2]) "
+                    + "if redis.call('hget', KEYS[1], ARGV[1]) == ARGV[3] then return 0 end "
+                    + "redis.call('hset', KEYS[1], ARGV[1], ARGV[3]) "
+                    + "return 1", Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final GameMetrics gameMetrics;
 
     public void saveData(String key, String hashkey, Object data) {
-        redisTemplate.opsForHash().put(key, hashkey, data);
+        gameMetrics.timeRedis("saveData", () -> redisTemplate.opsForHash().put(key, hashkey, data));
     }
 
-    public <T> void saveToList(String key, T data) {
-        try {
-            String jsonData = objectMapper.writeValueAsString(data);
-            redisTemplate.opsForList().rightPush(key, jsonData);
-        } catch (JsonProcessingException e) {
-            throw new BusinessException(ErrorInfo.THREAD_SERIALIZING_DATA);
-        }
+    /**
+     * 여러 Hash 를 한 번의 파이프라인으로 저장한다. Hash 마다 HMSET 한 번이 실행된다.
+     *
+     * @param hashes key 별 저장할 필드
+     */
+    @SuppressWarnings("unchecked")
+    public void saveAllData(Map<String, ? extends Map<String, ?>> hashes) {
+        gameMetrics.timeRedis("saveAllData", () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                hashes.forEach((key, fields) -> {
+                    if (!fields.isEmpty())
+                        ops.opsForHash().putAll(key, fields);
+                });
+                return null;
+            }
+        }));
     }
 
+    public void saveValue(String key, Object data) {
+        gameMetrics.timeRedis("saveValue", () -> redisTemplate.opsForValue().set(key, data));
+    }
+
+    public <T> T getValue(String key, Class<T> classType) {
+        return convert(gameMetrics.timeRedis("getValue", () -> redisTemplate.opsForValue().get(key)), classType);
+    }
+
+    public <T> void saveToList(String key, T data) {
+        gameMetrics.timeRedis("saveToList", () -> redisTemplate.opsForList().rightPush(key, data));
+    }
 
     public <T> Map<String, T> getData(String key, Class<T> classType) {
-        Map<Object, Object> map = redisTemplate.opsForHash().entries(key);
+        Map<Object, Object> map = gameMetrics.timeRedis("getData", () -> redisTemplate.opsForHash().entries(key));
         Map<String, T> result = new HashMap<>();
         for (Map.Entry<Object, Object> entry : map.entrySet()) {
             result.put((String) entry.getKey(), classType.cast(entry.getValue()));
@@ -45,70 +104,383 @@ public class RedisUtil {
         return result;
     }
 
-    public <T> List<T> getListData(String key, Class<T> classType) {
-        List<Object> serializedData = redisTemplate.opsForList().range(key, 0, -1);
-        if (serializedData == null || serializedData.isEmpty()) {
-            return new ArrayList<>();
+    /**
+     * Hash 의 필드 하나만 조회한다 (HGET).
+     *
+     * @return 필드가 없으면 null
+     */
+    public <T> T getField(String key, String hashKey, Class<T> classType) {
+        return convert(gameMetrics.timeRedis("getField", () -> redisTemplate.opsForHash().get(key, hashKey)), classType);
+    }
+
+    /**
+     * Hash 의 필드 여러 개를 한 번에 조회한다 (HMGET).
+     *
+     * @return 존재하는 필드만 담은 Map
+     */
+    public <T> Map<String, T> getFields(String key, Collection<String> hashKeys, Class<T> classType) {
+        List<Object> hashKeyList = new ArrayList<>(hashKeys);
+        List<Object> values = gameMetrics.timeRedis("getFields", () -> redisTemplate.opsForHash().multiGet(key, hashKeyList));
+
+        Map<String, T> result = new LinkedHashMap<>();
+        for (int i = 0; i < hashKeyList.size(); i++) {
+            Object value = values.get(i);
+            if (value != null)
+                result.put((String) hashKeyList.get(i), convert(value, classType));
         }
-        return serializedData.stream()
-                .map(data -> {
-                    try {
-                        String json = (String) data;
-                        return objectMapper.readValue(json, classType);
-                    } catch (JsonProcessingException e) {
-                        throw new BusinessException(ErrorInfo.THREAD_DESERIALIZING_DATA);
-                    }
-                })
-                .collect(Collectors.toList());
+        return result;
+    }
+
+    public <T> List<T> getListData(String key, Class<T> classType) {
+        return getListData(key, classType, 0);
     }
 
     public <T> List<T> getListData(String key, Class<T> classType, int start) {
-        List<Object> serializedData = redisTemplate.opsForList().range(key, start, -1);
+        List<Object> serializedData = gameMetrics.timeRedis("getListData", () -> redisTemplate.opsForList().range(key, start, -1));
         if (serializedData == null || serializedData.isEmpty()) {
             return new ArrayList<>();
         }
         return serializedData.stream()
-                .map(data -> {
-                    try {
-                        String json = (String) data;
-                        return objectMapper.readValue(json, classType);
-                    } catch (JsonProcessingException e) {
-                        System.err.println("Error deserializing data: " + data);
-                        throw new BusinessException(ErrorInfo.THREAD_DESERIALIZING_DATA);
-                    }
-                })
+                .map(data -> convertListEntry(key, data, classType))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 이전에는 JSON 문자열을 한 번 더 직렬화해 저장했으므로, 문자열 항목은 JSON 으로 읽는다.
+     */
+    private <T> T convertListEntry(String key, Object data, Class<T> classType) {
+        if (!(data instanceof String json) || classType == String.class)
+            return convert(data, classType);
+
+        try {
+            return objectMapper.readValue(json, classType);
+        } catch (JsonProcessingException e) {
+            log.error("[REDIS] failed to deserialize list entry key={}", key, e);
+            throw new BusinessException(ErrorInfo.THREAD_DESERIALIZING_DATA);
+        }
+    }
+
 
     public void deleteKey(String key) {
-        redisTemplate.delete(key);
+        gameMetrics.timeRedis("deleteKey", () -> redisTemplate.delete(key));
     }
 
     public void deleteKey(Collection<String> keys) {
-        redisTemplate.delete(keys);
+        gameMetrics.timeRedis("deleteKey", () -> redisTemplate.delete(keys));
     }
 
     public void deleteField(String key, String field) {
-        redisTemplate.opsForHash().delete(key, field);
+        gameMetrics.timeRedis("deleteField", () -> redisTemplate.opsForHash().delete(key, field));
     }
 
     public RoomInfo getLobbyRoomInfo(Long roomId) {
-        Map<String, RoomInfo> result = getData("roomInfo", RoomInfo.class);
-        RoomInfo roomInfo = result.get(roomId.toString());
+        RoomInfo roomInfo = getField(LOBBY_INFO_KEY, roomId.toString(), RoomInfo.class);
         if (roomInfo == null) throw new BusinessException(ErrorInfo.ROOM_NOT_EXIST_IN_REDIS);
 
         return roomInfo;
     }
 
+    /**
+     * 로비 방 정보를 저장하고 정렬 index(ZSET) 와 로비 version 을 함께 갱신한다.
+     * index 는 대기 중인 방이 먼저, 같은 상태끼리는 roomId 가 큰 방이 먼저 오도록 정렬된다.
+     */
+    @SuppressWarnings("unchecked")
+    public void saveLobbyRoom(RoomInfo roomInfo) {
+        String roomId = String.valueOf(roomInfo.getRoomId());
+        gameMetrics.timeRedis("saveLobbyRoom", () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForHash().put(LOBBY_INFO_KEY, roomId, roomInfo);
+                ops.opsForZSet().add(LOBBY_INDEX_KEY, roomId, lobbyScore(roomInfo));
+                ops.opsForValue().increment(LOBBY_VERSION_KEY);
+                return null;
+            }
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void deleteLobbyRoom(Long roomId) {
+        gameMetrics.timeRedis("deleteLobbyRoom", () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForHash().delete(LOBBY_INFO_KEY, roomId.toString());
+                ops.opsForZSet().remove(LOBBY_INDEX_KEY, roomId.toString());
+                ops.opsForValue().increment(LOBBY_VERSION_KEY);
+                return null;
+            }
+        }));
+    }
+
+    /**
+     * @return 로비 index 에서의 0 부터 시작하는 순서, index 에 없으면 null
+     */
+    public Long getLobbyRank(Long roomId) {
+        return gameMetrics.timeRedis("getLobbyRank", () -> redisTemplate.opsForZSet().rank(LOBBY_INDEX_KEY, roomId.toString()));
+    }
+
+    /**
+     * 로비 방이 저장되거나 삭제될 때마다 1 씩 증가한다. 이 값을 읽은 뒤 조회한 방 목록은 이 version 까지의 변경을 포함한다.
+     */
+    public long getLobbyVersion() {
+        Long version = gameMetrics.timeRedis("getLobbyVersion", () -> redisTemplate.opsForValue().increment(LOBBY_VERSION_KEY, 0));
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * 로비 page 의 fingerprint 를 노드 사이에서 compare-and-set 한다.
+     *
+     * @param page    0 이면 전체 page 수
+     * @param version fingerprint 를 계산한 목록을 읽기 전의 getLobbyVersion
+     * @return 이 호출이 page 를 전송해야 하면 true, 더 새 목록이 이미 기록되었거나 내용이 같으면 false
+     */
+    public boolean markLobbyPage(int page, long version, int fingerprint) {
+        Long marked = gameMetrics.timeRedis("markLobbyPage", () -> redisTemplate.execute(MARK_LOBBY_PAGE, RedisSerializer.string(),
+                new GenericToStringSerializer<>(Long.class), List.of(LOBBY_PUBLISHED_KEY),
+                String.valueOf(page), String.valueOf(version), String.valueOf(fingerprint)));
+        return marked != null && marked == 1;
+    }
+
+    public long countLobbyRooms() {
+        Long count = gameMetrics.timeRedis("countLobbyRooms", () -> redisTemplate.opsForZSet().zCard(LOBBY_INDEX_KEY));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * index 의 [start, end] 범위에 있는 방을 순서대로 조회한다 (ZRANGE + HMGET).
+     *
+     * @param end 포함, -1 이면 끝까지
+     */
+    public List<RoomInfo> getLobbyRooms(long start, long end) {
+        Set<Object> roomIds = gameMetrics.timeRedis("getLobbyRoomIds", () -> redisTemplate.opsForZSet().range(LOBBY_INDEX_KEY, start, end));
+        if (roomIds == null || roomIds.isEmpty())
+            return new ArrayList<>();
+
+        List<String> hashKeys = roomIds.stream().map(String::valueOf).toList();
+        return new ArrayList<>(getFields(LOBBY_INFO_KEY, hashKeys, RoomInfo.class).values());
+    }
+
+    /**
+     * 대기 중인 방의 score 는 음수, 시작한 방의 score 는 양수다.
+     *
+     * @return 게임 중인 방의 roomId
+     */
+    public List<Long> getStartedLobbyRoomIds() {
+        Set<Object> roomIds = gameMetrics.timeRedis("getStartedLobbyRoomIds",
+                () -> redisTemplate.opsForZSet().rangeByScore(LOBBY_INDEX_KEY, 0, Double.POSITIVE_INFINITY));
+        if (roomIds == null)
+            return new ArrayList<>();
+        return roomIds.stream().map(roomId -> Long.valueOf(String.valueOf(roomId))).collect(Collectors.toList());
+    }
+
+    /**
+     * index 가 없던 버전에서 저장된 방을 index 에 추가한다.
+     *
+     * @return 추가한 방의 수
+     */
+    public int indexLobbyRooms() {
+        Map<String, RoomInfo> rooms = getData(LOBBY_INFO_KEY, RoomInfo.class);
+        Set<ZSetOperations.TypedTuple<Object>> tuples = rooms.values().stream()
+                .map(room -> ZSetOperations.TypedTuple.<Object>of(String.valueOf(room.getRoomId()), lobbyScore(room)))
+                .collect(Collectors.toSet());
+        if (tuples.isEmpty())
+            return 0;
+
+        Long added = gameMetrics.timeRedis("indexLobbyRooms", () -> redisTemplate.opsForZSet().add(LOBBY_INDEX_KEY, tuples));
+        return added == null ? 0 : added.intValue();
+    }
+
+    private static double lobbyScore(RoomInfo roomInfo) {
+        return (roomInfo.getIsStart() ? STARTED_SCORE : 0) - roomInfo.getRoomId();
+    }
+
     public RoomVO getRoomUserInfo(Long roomId, User user) {
-        Map<String, RoomVO> roomVO = getData("room" + roomId, RoomVO.class);
-        if (!roomVO.containsKey(user.getId().toString())) throw new BusinessException(ErrorInfo.ROOM_USER_NOT_EXIST);
-        return roomVO.get(user.getId().toString());
+        RoomVO roomVO = getField("room" + roomId, user.getId().toString(), RoomVO.class);
+        if (roomVO == null) throw new BusinessException(ErrorInfo.ROOM_USER_NOT_EXIST);
+        return roomVO;
     }
 
     public Map<String, RoomVO> getRoomUsersInfo(Long roomId) {
         return getData("room" + roomId, RoomVO.class);
     }
 
+    public void saveCurrentRoundId(Long roomId, Long roundId) {
+        saveValue("roomId:" + roomId + ":round", roundId);
+    }
+
+    public Long getCurrentRoundId(Long roomId) {
+        return getValue("roomId:" + roomId + ":round", Long.class);
+    }
+
+    /**
+     * 키가 없을 때만 ttl 이 있는 값을 저장한다 (SET NX PX).
+     *
+     * @return 저장했으면 true
+     */
+    public boolean acquireLease(String key, String owner, Duration ttl) {
+        return Boolean.TRUE.equals(gameMetrics.timeRedis("acquireLease", () -> redisTemplate.opsForValue().setIfAbsent(key, owner, ttl)));
+    }
+
+    /**
+     * 값이 owner 일 때만 ttl 을 연장한다. 인자는 값과 같은 직렬화기로 바뀌므로 저장된 값과 그대로 비교할 수 있다.
+     *
+     * @return 다른 노드가 가져갔거나 만료되어 연장하지 못했으면 false
+     */
+    public boolean renewLease(String key, String owner, Duration ttl) {
+        Long renewed = gameMetrics.timeRedis("renewLease", () -> redisTemplate.execute(RENEW_LEASE, List.of(key), owner, ttl.toMillis()));
+        return renewed != null && renewed == 1;
+    }
+
+    /**
+     * 값이 owner 일 때만 키를 지운다.
+     */
+    public void releaseLease(String key, String owner) {
+        gameMetrics.timeRedis("releaseLease", () -> redisTemplate.execute(RELEASE_LEASE, List.of(key), owner));
+    }
+
+    public String getRoomOwner(Long roomId) {
+        return getValue("roomId:" + roomId + ":owner", String.class);
+    }
+
+    /**
+     * Stream 에 값 하나를 필드 VALUE_FIELD 로 추가한다 (XADD).
+     */
+    public RecordId addToStream(String key, Object value) {
+        return gameMetrics.timeRedis("addToStream", () -> redisTemplate.opsForStream().add(key, Map.of(STREAM_VALUE_FIELD, value)));
+    }
+
+    /**
+     * Stream 의 처음부터 읽는 consumer group 을 만든다. Stream 이 없으면 함께 만들고, 이미 있으면 아무것도 하지 않는다.
+     */
+    public void createGroup(String key, String group) {
+        try {
+            gameMetrics.timeRedis("createGroup", () -> redisTemplate.opsForStream().createGroup(key, ReadOffset.from("0"), group));
+        } catch (RedisSystemException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP"))
+                throw e;
+        }
+    }
+
+    /**
+     * 여러 Stream 을 consumer group 으로 한 번에 읽는다 (XREADGROUP).
+     *
+     * @param blockMillis 0 이면 기다리지 않는다
+     * @return 읽은 항목이 없으면 빈 List
+     */
+    @SuppressWarnings("unchecked")
+    public List<MapRecord<String, Object, Object>> readGroup(String group, String consumer, int count, long blockMillis, List<StreamOffset<String>> offsets) {
+        StreamReadOptions options = StreamReadOptions.empty().count(count);
+        if (blockMillis > 0)
+            options = options.block(Duration.ofMillis(blockMillis));
+
+        StreamReadOptions readOptions = options;
+        List<MapRecord<String, Object, Object>> records = gameMetrics.timeRedis("readGroup", () -> redisTemplate.opsForStream()
+                .read(Consumer.from(group, consumer), readOptions, offsets.toArray(new StreamOffset[0])));
+        return records == null ? List.of() : records;
+    }
+
+    /**
+     * 다른 consumer 가 읽고 확인하지 않은 항목을 consumer 에게 넘긴다 (XPENDING + XCLAIM).
+     *
+     * @return 넘겨받은 항목 수
+     */
+    public int claimPending(String key, String group, String consumer, int count) {
+        PendingMessages pending = gameMetrics.timeRedis("pending", () -> redisTemplate.opsForStream().pending(key, group, Range.unbounded(), count));
+        RecordId[] ids = pending.stream()
+                .filter(message -> !consumer.equals(message.getConsumerName()))
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+        if (ids.length == 0)
+            return 0;
+
+        gameMetrics.timeRedis("claim", () -> redisTemplate.opsForStream().claim(key, group, consumer, XClaimOptions.minIdle(Duration.ZERO).ids(ids)));
+        return ids.length;
+    }
+
+    public void acknowledge(String key, String group, Collection<RecordId> ids) {
+        if (ids.isEmpty())
+            return;
+        gameMetrics.timeRedis("acknowledge", () -> redisTemplate.opsForStream().acknowledge(key, group, ids.toArray(new RecordId[0])));
+    }
+
+    /**
+     * 게임 루프가 처리한 클릭의 스냅샷과 XACK 를 MULTI/EXEC 하나로 반영한다.
+     * 스냅샷이 쓰이지 않은 클릭은 확인되지 않고, 확인된 클릭은 모두 스냅샷에 반영되어 있다.
+     *
+     * @param lastApplied 스냅샷에 반영된 마지막 stream 항목, 없으면 null. 복구할 때 이 항목까지는 다시 처리하지 않는다
+     */
+    @SuppressWarnings("unchecked")
+    public void saveSnapshot(Long roomId, Map<String, ?> users, Map<String, ?> ranks, Map<String, ?> deaths, String streamKey, String group, Collection<RecordId> ids, RecordId lastApplied) {
+        gameMetrics.timeRedis("saveSnapshot", () -> redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.multi();
+                if (!users.isEmpty())
+                    ops.opsForHash().putAll("roomId:" + roomId + ":users", users);
+                if (!ranks.isEmpty())
+                    ops.opsForHash().putAll("roomId:" + roomId + ":ranks", ranks);
+                if (!deaths.isEmpty())
+                    ops.opsForHash().putAll("roomId:" + roomId + ":deaths", deaths);
+                if (lastApplied != null)
+                    ops.opsForValue().set(appliedKeyOf(roomId), lastApplied.getValue());
+                if (!ids.isEmpty())
+                    ops.opsForStream().acknowledge(streamKey, group, ids.toArray(new RecordId[0]));
+                return ops.exec();
+            }
+        }));
+    }
+
+    /**
+     * @return 스냅샷에 반영된 마지막 click stream 항목, 없으면 null
+     */
+    public RecordId getLastApplied(Long roomId) {
+        String id = getValue(appliedKeyOf(roomId), String.class);
+        return id == null ? null : RecordId.of(id);
+    }
+
+    public static String appliedKeyOf(Long roomId) {
+        return "roomId:" + roomId + ":applied";
+    }
+
+    public <T> List<T> getStreamData(String key, Class<T> classType) {
+        List<MapRecord<String, Object, Object>> records = gameMetrics.timeRedis("getStreamData", () -> redisTemplate.opsForStream().range(key, Range.unbounded()));
+        if (records == null)
+            return new ArrayList<>();
+        return records.stream()
+                .map(record -> getStreamValue(record, classType))
+                .collect(Collectors.toList());
+    }
+
+    public <T> T getStreamValue(MapRecord<String, Object, Object> record, Class<T> classType) {
+        return convert(record.getValue().get(STREAM_VALUE_FIELD), classType);
+    }
+
+    /**
+     * 항목을 지우고 consumer group 과 읽은 위치는 남긴다 (XTRIM MAXLEN).
+     */
+    public void trimStream(String key, long maxLength) {
+        gameMetrics.timeRedis("trimStream", () -> redisTemplate.opsForStream().trim(key, maxLength));
+    }
+
+    public void saveMention(Long roomId, String mention) {
+        saveValue("roomId:" + roomId + ":mention", mention);
+    }
+
+    public String getMention(Long roomId) {
+        return getValue("roomId:" + roomId + ":mention", String.class);
+    }
+
+    /**
+     * 숫자는 크기에 따라 Integer 로 역직렬화될 수 있으므로 요청한 타입으로 변환한다.
+     */
+    private <T> T convert(Object value, Class<T> classType) {
+        if (value == null)
+            return null;
+        if (classType.isInstance(value))
+            return classType.cast(value);
+        return objectMapper.convertValue(value, classType);
+    }
+
 }
@@ -11,14 +11,15 @@ import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class SocketUtil {
+    private static final int LOBBY_PAGE_SIZE = 6;
     private final SimpMessageSendingOperations simpMessageSendingOperations;
     private final RedisUtil redisUtil;
 
@@ -34,32 +35,74 @@ public class SocketUtil {
         simpMessageSendingOperations.convertAndSendToUser(userId, "/topic/games/" + destination + "/battle-feild", message);
     }
 
-    public void sendRoomList() {
-        Map<String, RoomInfo> map = redisUtil.getData("roomInfo", RoomInfo.class);
-        List<RoomInfo> valueList = new ArrayList<>(map.values());
-        Collections.sort(valueList, (o1, o2) -> {
-            if (o1.getIsStart() == o2.getIsStart())
-                return -Long.compare(o1.getRoomId(), o2.getRoomId());
-            else return Boolean.compare(o1.getIsStart(), o2.getIsStart());
-        });
-
-        int size = getSize(valueList.size());
-
-        for (int i = 1; i <= size; i++) {
-            int endIndex = 0;
-            if (i * 6 >= valueList.size())
-                endIndex = valueList.size();
-            else endIndex = i * 6;
-            simpMessageSendingOperations.convertAndSend("/topic/lobby/" + i, new RoomListResponse(size, valueList.subList((i - 1) * 6, endIndex)));
+    /**
+     * 로비 방 하나를 바꾸고, 방의 index 순서가 바뀐 범위의 page 를 전송한다.
+     * 그 사이 다른 변경이 끼어들어 범위를 확신할 수 없으면 모든 page 를 확인한다.
+     *
+     * @param mutation saveLobbyRoom 이나 deleteLobbyRoom 처럼 로비 version 을 1 올리는 변경 하나
+     */
+    public void updateLobby(Long roomId, Runnable mutation) {
+        long version = redisUtil.getLobbyVersion();
+        Long beforeRank = redisUtil.getLobbyRank(roomId);
+        mutation.run();
+        Long afterRank = redisUtil.getLobbyRank(roomId);
+
+        if (redisUtil.getLobbyVersion() != version + 1 || (beforeRank == null && afterRank == null))
+            sendRoomList(0, Long.MAX_VALUE);
+        else if (beforeRank == null || afterRank == null)
+            sendRoomList(beforeRank == null ? afterRank : beforeRank, Long.MAX_VALUE);
+        else
+            sendRoomList(Math.min(beforeRank, afterRank), Math.max(beforeRank, afterRank));
+    }
+
+    /**
+     * 로비 index 의 [fromRank, toRank] 가 바뀌었을 때 그 범위의 page 만 다시 읽어, 내용이 바뀐 page 만 전송한다.
+     * 전체 page 수가 바뀌면 모든 page 의 totalPage 가 바뀌므로 모든 page 를 확인한다.
+     * 전송 여부는 Redis 의 fingerprint 로 정하므로 여러 노드가 같은 page 를 보내지 않고, 먼저 읽은 목록이 나중에 전송되지 않는다.
+     *
+     * @param toRank 포함, 방이 추가되거나 삭제되어 뒤의 방이 밀렸으면 Long.MAX_VALUE
+     */
+    public void sendRoomList(long fromRank, long toRank) {
+        long version = redisUtil.getLobbyVersion();
+        int totalPage = getSize((int) redisUtil.countLobbyRooms());
+        boolean totalChanged = redisUtil.markLobbyPage(0, version, totalPage);
+        if (totalPage == 0) {
+            if (redisUtil.markLobbyPage(1, version, Objects.hash(0, List.of())))
+                simpMessageSendingOperations.convertAndSend("/topic/lobby/" + 1, new RoomListResponse(0, null));
+            return;
+        }
+
+        int fromPage = 1;
+        int toPage = totalPage;
+        if (!totalChanged) {
+            fromPage = (int) (Math.max(0, fromRank) / LOBBY_PAGE_SIZE) + 1;
+            toPage = (int) Math.min(totalPage, Math.max(fromRank, toRank) / LOBBY_PAGE_SIZE + 1);
         }
 
-        if (size == 0)
-            simpMessageSendingOperations.convertAndSend("/topic/lobby/" + 1, new RoomListResponse(size, null));
+        List<RoomInfo> rooms = redisUtil.getLobbyRooms((long) (fromPage - 1) * LOBBY_PAGE_SIZE, (long) toPage * LOBBY_PAGE_SIZE - 1);
+        for (int page = fromPage; page <= toPage; page++) {
+            int offset = (page - fromPage) * LOBBY_PAGE_SIZE;
+            if (offset >= rooms.size())
+                break;
+
+            List<RoomInfo> pageRooms = rooms.subList(offset, Math.min(rooms.size(), offset + LOBBY_PAGE_SIZE));
+            if (redisUtil.markLobbyPage(page, version, Objects.hash(totalPage, pageRooms)))
+                simpMessageSendingOperations.convertAndSend("/topic/lobby/" + page, new RoomListResponse(totalPage, new ArrayList<>(pageRooms)));
+        }
+    }
+
+    /**
+     * @param page 1 부터 시작하는 page 번호
+     */
+    public RoomListResponse getRoomList(int page) {
+        page = Math.max(1, page);
+        int totalPage = getSize((int) redisUtil.countLobbyRooms());
+        List<RoomInfo> rooms = redisUtil.getLobbyRooms((long) (page - 1) * LOBBY_PAGE_SIZE, (long) page * LOBBY_PAGE_SIZE - 1);
+        return new RoomListResponse(totalPage, rooms);
     }
 
     public void sendRoomInfoSocket(Room room) {
-        Map<String, RoomInfo> roominfo = redisUtil.getData("roomInfo", RoomInfo.class);
-        RoomInfo roomInfo = roominfo.get(room.getId().toString()); // todo: Typo roominfo -> roomInfo
+        RoomInfo roomInfo = redisUtil.getLobbyRoomInfo(room.getId());
 
         Map<String, RoomVO> userinfo = redisUtil.getData("room" + room.getId(), RoomVO.class);
         List<RoomVO> users = new ArrayList<>(userinfo.values());
@@ -68,9 +111,9 @@ public class SocketUtil {
     }
 
     public int getSize(int size) {
-        if (size % 6 == 0)
-            return size / 6;
+        if (size % LOBBY_PAGE_SIZE == 0)
+            return size / LOBBY_PAGE_SIZE;
         else
-            return (size / 6) + 1;
+            return (size / LOBBY_PAGE_SIZE) + 1;
     }
 }
@@ -0,0 +1,113 @@
+package com.wak.game.application.facade;
+
+import com.wak.game.application.request.GameStartRequest;
+import com.wak.game.domain.player.PlayerResultWriter;
+import com.wak.game.domain.player.PlayerService;
+import com.wak.game.domain.room.Room;
+import com.wak.game.domain.room.RoomService;
+import com.wak.game.domain.room.dto.RoomInfo;
+import com.wak.game.domain.round.Round;
+import com.wak.game.domain.round.RoundService;
+import com.wak.game.domain.round.state.RoomState;
+import com.wak.game.domain.round.thread.GameLoopScheduler;
+import com.wak.game.domain.user.UserService;
+import com.wak.game.global.error.exception.BusinessException;
+import com.wak.game.global.metrics.GameMetrics;
+import com.wak.game.global.util.RedisUtil;
+import com.wak.game.global.util.SocketUtil;
+import com.wak.game.global.util.TimeUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 게임 시작과 복구 scan 이 겹칠 때 시작 중인 방을 소유자 없는 방으로 보고 끝내지 않는지 확인한다.
+ */
+class RoomRecoveryFacadeTest {
+    private static final Long ROOM_ID = 1L;
+
+    private final RedisUtil redisUtil = mock(RedisUtil.class);
+    private final RoundService roundService = mock(RoundService.class);
+    private final RoomService roomService = mock(RoomService.class);
+    private final RankFacade rankFacade = mock(RankFacade.class);
+    private final RoundFacade roundFacade = spy(new RoundFacade(roundService, mock(PlayerService.class), mock(PlayerResultWriter.class),
+            roomService, mock(UserService.class), redisUtil, mock(SocketUtil.class), mock(TimeUtil.class),
+            mock(GameLoopScheduler.class), mock(GameMetrics.class)));
+    private final RoomRecoveryFacade recovery = new RoomRecoveryFacade(redisUtil, roundService, roundFacade, rankFacade);
+
+    @BeforeEach
+    public void setUp() {
+        Room room = mock(Room.class);
+        when(room.getId()).thenReturn(ROOM_ID);
+        when(roomService.findById(ROOM_ID)).thenReturn(room);
+        when(redisUtil.getLobbyRoomInfo(ROOM_ID)).thenReturn(new RoomInfo());
+        when(redisUtil.getStartedLobbyRoomIds()).thenReturn(List.of(ROOM_ID));
+    }
+
+    @Test
+    public void claimsLeaseBeforeMarkingRoomStarted() {
+        when(roundService.claimRoom(ROOM_ID)).thenReturn(true);
+        when(roundService.startRound(any(), any())).thenThrow(new IllegalStateException("round failed"));
+
+        assertThrows(IllegalStateException.class, () -> roundFacade.startGame(new GameStartRequest(), ROOM_ID, 1L));
+
+        InOrder order = inOrder(roundService, redisUtil);
+        order.verify(roundService).claimRoom(ROOM_ID);
+        order.verify(redisUtil).saveLobbyRoom(any());
+        order.verify(roundService).releaseRoom(ROOM_ID);
+    }
+
+    @Test
+    public void doesNotStartGameWhenAnotherNodeHoldsLease() {
+        when(roundService.claimRoom(ROOM_ID)).thenReturn(false);
+
+        assertThrows(BusinessException.class, () -> roundFacade.startGame(new GameStartRequest(), ROOM_ID, 1L));
+
+        verify(redisUtil, never()).saveLobbyRoom(any());
+    }
+
+    @Test
+    public void skipsStartedRoomWhileStartingNodeHoldsLease() {
+        when(roundService.hasGameLoop(ROOM_ID)).thenReturn(false);
+        when(redisUtil.getRoomOwner(ROOM_ID)).thenReturn("starting-node");
+        when(redisUtil.getCurrentRoundId(ROOM_ID)).thenReturn(null);
+
+        recovery.recoverOrphanedRooms();
+
+        verify(roundService, never()).claimRoom(any());
+        verify(roundFacade, never()).abortGame(any(), any());
+    }
+
+    @Test
+    public void startsNextRoundWhenOwnerDiedDuringBreak() {
+        Round finished = round(10L, 1, true);
+        Round next = round(11L, 2, false);
+        RoomState state = mock(RoomState.class);
+        when(roundService.claimRoom(ROOM_ID)).thenReturn(true);
+        when(redisUtil.getCurrentRoundId(ROOM_ID)).thenReturn(10L);
+        when(roundService.findById(10L)).thenReturn(finished);
+        doReturn(next).when(roundFacade).startNextRound(finished);
+        doReturn(state).when(roundFacade).initializeGameStatuses(ROOM_ID, next);
+        when(roundService.findGameRoundIds(ROOM_ID, next)).thenReturn(List.of(10L, 11L));
+
+        recovery.recoverOrphanedRooms();
+
+        verify(roundService).runGameLoop(ROOM_ID, next, state, List.of(10L, 11L));
+        verify(roundService).submitToGameLoop(eq(ROOM_ID), any());
+        verify(roundFacade, never()).abortGame(any(), any());
+    }
+
+    private static Round round(Long id, int roundNumber, boolean finished) {
+        Round round = mock(Round.class);
+        when(round.getId()).thenReturn(id);
+        when(round.getRoundNumber()).thenReturn(roundNumber);
+        when(round.isDeleted()).thenReturn(finished);
+        return round;
+    }
+}
@@ -0,0 +1,66 @@
+package com.wak.game.domain.clickLog;
+
+import com.wak.game.domain.clickLog.dto.ClickLogEntry;
+import com.wak.game.domain.round.dto.ClickDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClickLogCodecTest {
+    private static final long START_NANOS = Instant.parse("2024-06-01T00:00:00Z").toEpochMilli() * 1_000_000L;
+
+    @Test
+    public void clicksRoundTripInOrder() {
+        List<ClickDTO> clicks = List.of(
+                new ClickDTO(5L, 9L, 1L, "2024-06-01T00:00:00.120Z", START_NANOS + 150_000_000L),
+                new ClickDTO(9L, 5L, 1L, "2024-06-01T00:00:00.090Z", START_NANOS + 151_234_567L),
+                new ClickDTO(5L, 2L, 1L, null, START_NANOS + 151_234_567L));
+
+        List<ClickLogEntry> entries = ClickLogCodec.decode(ClickLogCodec.encode(clicks));
+
+        assertEquals(3, entries.size());
+        assertEquals(new ClickLogEntry(5L, 9L, "2024-06-01T00:00:00.120Z", START_NANOS + 150_000_000L), entries.get(0));
+        assertEquals(new ClickLogEntry(9L, 5L, "2024-06-01T00:00:00.090Z", START_NANOS + 151_234_567L), entries.get(1));
+        assertEquals(new ClickLogEntry(5L, 2L, null, START_NANOS + 151_234_567L), entries.get(2));
+    }
+
+    @Test
+    public void keepsClientTimeThatIsNotBrowserIsoText() {
+        List<ClickDTO> clicks = List.of(
+                new ClickDTO(1L, 2L, 1L, "2024-06-01T00:00:00", START_NANOS),
+                new ClickDTO(1L, 2L, 1L, "2024-06-01T09:00:00.000+09:00", START_NANOS));
+
+        List<ClickLogEntry> entries = ClickLogCodec.decode(ClickLogCodec.encode(clicks));
+
+        assertEquals("2024-06-01T00:00:00", entries.get(0).clientTime());
+        assertEquals("2024-06-01T09:00:00.000+09:00", entries.get(1).clientTime());
+    }
+
+    @Test
+    public void isMuchSmallerThanOneTextRowPerClick() {
+        List<ClickDTO> clicks = new ArrayList<>();
+        int textBytes = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long nanos = START_NANOS + i * 3_000_000L;
+            String clientTime = Instant.ofEpochMilli(nanos / 1_000_000L - 40).toString();
+            ClickDTO click = new ClickDTO(1L + i % 50, 1L + (i * 7) % 50, 1L, clientTime, nanos);
+            clicks.add(click);
+            textBytes += ("ClickDTO{userId=" + click.getUserId() + ", victimId=" + click.getVictimId()
+                    + ", roundId=1, time='" + clientTime + "', nanoSec=" + nanos + "}").length();
+        }
+
+        byte[] encoded = ClickLogCodec.encode(clicks);
+
+        assertEquals(clicks.size(), ClickLogCodec.decode(encoded).size());
+        assertTrue(encoded.length * 10 < textBytes);
+    }
+
+    @Test
+    public void emptyRound() {
+        assertTrue(ClickLogCodec.decode(ClickLogCodec.encode(List.of())).isEmpty());
+    }
+}
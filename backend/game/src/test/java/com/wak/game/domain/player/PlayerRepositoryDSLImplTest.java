@@ -0,0 +1,65 @@
+package com.wak.game.domain.player;
+
+import com.wak.game.domain.chat.Chat;
+import com.wak.game.domain.clickLog.ClickLog;
+import com.wak.game.domain.color.Color;
+import com.wak.game.domain.playerLog.PlayerLog;
+import com.wak.game.domain.room.Room;
+import com.wak.game.domain.roomLog.RoomLog;
+import com.wak.game.domain.round.Round;
+import com.wak.game.domain.user.User;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.dialect.MariaDBDialect;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.PersistentClass;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerRepositoryDSLImplTest {
+    private StandardServiceRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", MariaDBDialect.class.getName())
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", false)
+                .applySetting("hibernate.boot.allow_jdbc_metadata_access", false)
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Test
+    public void insertCoversEveryMappedColumn() {
+        Metadata metadata = new MetadataSources(registry)
+                .addAnnotatedClasses(Player.class, User.class, Round.class, Room.class, Color.class,
+                        RoomLog.class, PlayerLog.class, ClickLog.class, Chat.class)
+                .getMetadataBuilder()
+                .applyPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .build();
+        PersistentClass player = metadata.getEntityBinding(Player.class.getName());
+
+        Set<String> mapped = player.getTable().getColumns().stream()
+                .map(Column::getName)
+                .collect(Collectors.toSet());
+        mapped.removeAll(player.getIdentifier().getColumns().stream().map(Column::getName).toList());
+
+        assertEquals(mapped, new HashSet<>(PlayerRepositoryDSLImpl.COLUMNS.getColumns()));
+        assertTrue(PlayerRepositoryDSLImpl.COLUMNS.getColumns().contains("murder_player_id"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.wak.game.domain.rank;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    @Test
+    public void incrementMovesSlotToFrontOfItsScoreGroup() {
+        Leaderboard leaderboard = new Leaderboard(4);
+
+        assertEquals(0, leaderboard.increment(3));
+        assertEquals(3, leaderboard.slotAt(0));
+        assertEquals(1, leaderboard.rankOf(3));
+        assertEquals(2, leaderboard.rankOf(0));
+
+        leaderboard.increment(2);
+        leaderboard.increment(2);
+
+        assertArrayEquals(new int[]{2, 3}, leaderboard.topK(2));
+        assertEquals(0, leaderboard.positionOf(2));
+        assertEquals(3, leaderboard.rankOf(1));
+        assertEquals(leaderboard.rankOf(0), leaderboard.rankOf(1));
+    }
+
+    @Test
+    public void staysSortedUnderRandomKills() {
+        Random random = new Random(42);
+        int size = 50;
+        Leaderboard leaderboard = new Leaderboard(size);
+        int[] kills = new int[size];
+
+        for (int i = 0; i < 5000; i++) {
+            int slot = random.nextInt(size);
+            leaderboard.increment(slot);
+            kills[slot]++;
+        }
+
+        for (int position = 0; position + 1 < size; position++) {
+            assertTrue(leaderboard.scoreOf(leaderboard.slotAt(position)) >= leaderboard.scoreOf(leaderboard.slotAt(position + 1)));
+        }
+        for (int slot = 0; slot < size; slot++) {
+            int better = 0;
+            for (int other = 0; other < size; other++) {
+                if (kills[other] > kills[slot])
+                    better++;
+            }
+            assertEquals(kills[slot], leaderboard.scoreOf(slot));
+            assertEquals(slot, leaderboard.slotAt(leaderboard.positionOf(slot)));
+            assertEquals(better + 1, leaderboard.rankOf(slot));
+        }
+    }
+}
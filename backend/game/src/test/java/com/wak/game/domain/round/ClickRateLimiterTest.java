@@ -0,0 +1,46 @@
+package com.wak.game.domain.round;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.wak.game.domain.round.ClickRateLimiter.Result.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClickRateLimiterTest {
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000 * MILLIS);
+    private final ClickRateLimiter limiter = new ClickRateLimiter(10, 3, 50, 1000, now::get);
+
+    @Test
+    public void dropsClicksOverBurstUntilTokensRefill() {
+        assertEquals(ACCEPTED, limiter.tryAcquire(1L, 1L, 2L));
+        assertEquals(ACCEPTED, limiter.tryAcquire(1L, 1L, 3L));
+        assertEquals(ACCEPTED, limiter.tryAcquire(1L, 1L, 4L));
+        assertEquals(RATE_LIMITED, limiter.tryAcquire(1L, 1L, 5L));
+
+        now.addAndGet(100 * MILLIS);
+        assertEquals(ACCEPTED, limiter.tryAcquire(1L, 1L, 6L));
+        assertEquals(RATE_LIMITED, limiter.tryAcquire(1L, 1L, 7L));
+    }
+
+    @Test
+    public void dropsSameVictimWithinDedupWindow() {
+        assertEquals(ACCEPTED, limiter.tryAcquire(1L, 1L, 2L));
+        assertEquals(DUPLICATE, limiter.tryAcquire(1L, 1L, 2L));
+
+        now.addAndGet(50 * MILLIS);
+        assertEquals(ACCEPTED, limiter.tryAcquire(1L, 1L, 2L));
+    }
+
+    @Test
+    public void keepsSeparateBucketsPerRoomAndUser() {
+        for (int i = 0; i < 3; i++)
+            limiter.tryAcquire(1L, 1L, 10L + i);
+
+        assertEquals(RATE_LIMITED, limiter.tryAcquire(1L, 1L, 20L));
+        assertEquals(ACCEPTED, limiter.tryAcquire(1L, 2L, 20L));
+        assertEquals(ACCEPTED, limiter.tryAcquire(2L, 1L, 20L));
+    }
+}
@@ -0,0 +1,53 @@
+package com.wak.game.domain.round.state;
+
+import com.wak.game.domain.player.dto.DeathInfo;
+import com.wak.game.domain.player.dto.PlayerInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomStateTest {
+    private static final Long ROUND_ID = 1L;
+
+    @Test
+    public void restoresKillerAndDeathTimeFromSnapshot() {
+        RoomState original = RoomState.of(ROUND_ID, players(1, 1, 1));
+        original.attack(0, 1, 1_000L);
+
+        List<PlayerInfo> snapshot = new ArrayList<>();
+        List<DeathInfo> deaths = new ArrayList<>();
+        for (int slot = 0; slot < original.getPlayerCount(); slot++) {
+            snapshot.add(original.toPlayerInfo(slot));
+            if (original.toDeathInfo(slot) != null)
+                deaths.add(original.toDeathInfo(slot));
+        }
+
+        RoomState restored = RoomState.restore(ROUND_ID, snapshot, Map.of(1L, 1), deaths);
+
+        assertFalse(restored.isAlive(1));
+        assertEquals(0, restored.getKilledBy(1));
+        assertEquals(1_000L, restored.getDeathNanos(1));
+        assertEquals(-1, restored.getKilledBy(2));
+        assertEquals(1, restored.getKills(0));
+    }
+
+    @Test
+    public void leavesKillerUnknownWithoutDeathRecord() {
+        RoomState restored = RoomState.restore(ROUND_ID, players(1, 0), Map.of(), List.of());
+
+        assertFalse(restored.isAlive(1));
+        assertEquals(-1, restored.getKilledBy(1));
+        assertEquals(0L, restored.getDeathNanos(1));
+    }
+
+    private static List<PlayerInfo> players(int... stamina) {
+        List<PlayerInfo> players = new ArrayList<>();
+        for (int i = 0; i < stamina.length; i++)
+            players.add(new PlayerInfo(ROUND_ID, (long) i + 1, "#ffffff", "user" + (i + 1), "A", i == 0, stamina[i]));
+        return players;
+    }
+}
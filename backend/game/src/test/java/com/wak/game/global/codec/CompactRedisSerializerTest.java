@@ -0,0 +1,59 @@
+package com.wak.game.global.codec;
+
+import com.wak.game.domain.player.dto.PlayerInfo;
+import com.wak.game.domain.round.dto.ClickDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactRedisSerializerTest {
+    private final CompactRedisSerializer binary = CompactRedisSerializer.of("binary");
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+    @Test
+    public void playerRoundTripsAndIsSmallerThanJson() {
+        PlayerInfo player = new PlayerInfo(3L, 1L, "#ffffff", "닉네임", null, true, 0);
+
+        byte[] bytes = binary.serialize(player);
+        PlayerInfo read = (PlayerInfo) binary.deserialize(bytes);
+
+        assertEquals(player.getRoundId(), read.getRoundId());
+        assertEquals(player.getUserId(), read.getUserId());
+        assertEquals(player.getNickname(), read.getNickname());
+        assertNull(read.getTeam());
+        assertTrue(read.getIsHost());
+        assertEquals(0, read.getStamina());
+        assertTrue(bytes.length * 3 < json.serialize(player).length);
+    }
+
+    @Test
+    public void clickKeepsNullableFields() {
+        ClickDTO click = new ClickDTO(1L, 2L, null, "2024-06-01T00:00:00", -1L);
+
+        ClickDTO read = (ClickDTO) binary.deserialize(binary.serialize(click));
+
+        assertEquals(2L, read.getVictimId());
+        assertNull(read.getRoundId());
+        assertEquals(-1L, read.getNanoSec());
+    }
+
+    @Test
+    public void readsValuesWrittenAsJson() {
+        PlayerInfo player = new PlayerInfo(3L, 1L, "#ffffff", "nickname", "A", false, 5);
+
+        PlayerInfo read = (PlayerInfo) binary.deserialize(json.serialize(player));
+
+        assertEquals(5, read.getStamina());
+        assertEquals(1L, binary.deserialize(json.serialize(1L)));
+    }
+
+    @Test
+    public void jsonModeWritesJsonAndTypesWithoutCodecFallBack() {
+        CompactRedisSerializer jsonMode = CompactRedisSerializer.of("json");
+        PlayerInfo player = new PlayerInfo(3L, 1L, "#ffffff", "nickname", "A", false, 5);
+
+        assertEquals('{', jsonMode.serialize(player)[0]);
+        assertEquals("node-1", binary.deserialize(binary.serialize("node-1")));
+    }
+}
@@ -0,0 +1,125 @@
+package com.wak.game.global.config;
+
+import com.wak.game.global.metrics.OutboundMessageMetricsInterceptor;
+import com.wak.game.global.token.StompAuthInterceptor;
+import com.wak.game.global.token.StompAuthUserArgumentResolver;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpStompClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * relay 모드에서 '/' 로 나뉜 destination 이 내장 Artemis 를 거쳐 구독자에게 전달되는지 확인한다.
+ */
+@SpringBootTest(classes = WebSocketConfig.class, properties = "broker.mode=relay")
+class WebSocketConfigRelayTest {
+    private static final String DESTINATION = "/topic/games/1/dashboard";
+    private static final int PORT = freePort();
+    private static EmbeddedActiveMQ broker;
+
+    @MockBean
+    private OutboundMessageMetricsInterceptor outboundMessageMetricsInterceptor;
+    @MockBean
+    private StompAuthInterceptor stompAuthInterceptor;
+    @MockBean
+    private StompAuthUserArgumentResolver stompAuthUserArgumentResolver;
+
+    @Autowired
+    private AbstractBrokerMessageHandler relay;
+    @Autowired
+    private SimpMessageSendingOperations messagingTemplate;
+
+    @BeforeAll
+    public static void startBroker() throws Exception {
+        broker = new EmbeddedActiveMQ().setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://localhost:" + PORT + "?protocols=STOMP"));
+        broker.start();
+    }
+
+    @AfterAll
+    public static void stopBroker() throws Exception {
+        broker.stop();
+    }
+
+    @DynamicPropertySource
+    public static void relayPort(DynamicPropertyRegistry registry) {
+        registry.add("broker.relay.port", () -> PORT);
+    }
+
+    @Test
+    public void deliversNestedDestinationThroughRelay() throws Exception {
+        waitUntil(relay::isBrokerAvailable);
+
+        ReactorNettyTcpStompClient client = new ReactorNettyTcpStompClient("localhost", PORT);
+        client.setMessageConverter(new StringMessageConverter());
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.setLogin("guest");
+        connectHeaders.setPasscode("guest");
+        StompSession session = client.connect(connectHeaders, new StompSessionHandlerAdapter() {
+        }).get(5, TimeUnit.SECONDS);
+
+        try {
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            CountDownLatch subscribed = new CountDownLatch(1);
+            session.setAutoReceipt(true);
+            session.subscribe(DESTINATION, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return String.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    received.add((String) payload);
+                }
+            }).addReceiptTask(subscribed::countDown);
+            assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+
+            messagingTemplate.convertAndSend(DESTINATION, "dashboard");
+
+            assertEquals("dashboard", received.poll(5, TimeUnit.SECONDS));
+        } finally {
+            session.disconnect();
+            client.shutdown();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline)
+                throw new AssertionError("relay did not connect to the broker");
+            Thread.sleep(50);
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
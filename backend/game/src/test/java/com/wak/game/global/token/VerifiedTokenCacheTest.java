@@ -0,0 +1,42 @@
+package com.wak.game.global.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(100);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    public void verifiesTokenOnceUntilExpiry() {
+        TokenClaims claims = new TokenClaims(1L, "nick", new Date(System.currentTimeMillis() + 60_000));
+
+        cache.get("token", token -> verify(claims));
+        TokenClaims cached = cache.get("token", token -> verify(claims));
+
+        assertSame(claims, cached);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    public void doesNotKeepExpiredOrRejectedTokens() {
+        TokenClaims expired = new TokenClaims(1L, "nick", new Date(System.currentTimeMillis() - 1));
+
+        cache.get("expired", token -> verify(expired));
+        cache.get("expired", token -> verify(expired));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("forged", token -> {
+            throw new IllegalArgumentException("bad signature");
+        }));
+
+        assertEquals(2, verifications.get());
+    }
+
+    private TokenClaims verify(TokenClaims claims) {
+        verifications.incrementAndGet();
+        return claims;
+    }
+}
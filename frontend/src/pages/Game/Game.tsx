@@ -12,6 +12,8 @@ import {
   PlayersTypes,
   KillLogPlayersTypes,
   RankPlayersTypes,
+  StaminaDeltaTypes,
+  RankDeltaTypes,
 } from '../../types/GameTypes';
 import { ResultTypes, FinalResultTypes } from '../../types/ResultTypes';
 
@@ -85,6 +87,38 @@ export default function GamePage() {
         },
         header
       );
+      client.current?.subscribe(
+        `/topic/games/${id}/battle-field/delta`,
+        (message) => {
+          const changes: StaminaDeltaTypes[] = JSON.parse(message.body).players;
+          setPlayers((prevPlayers) => {
+            const newPlayers = prevPlayers.map((player) => {
+              const change = changes.find((c) => c.userId === player.userId);
+              return change ? { ...player, stamina: change.stamina } : player;
+            });
+            checkAlive(newPlayers);
+            return newPlayers;
+          });
+        },
+        header
+      );
+      client.current?.subscribe(
+        `/topic/games/${id}/rank/delta`,
+        (message) => {
+          const changes: RankDeltaTypes[] = JSON.parse(message.body).ranks;
+          setRanks((prevRanks) => {
+            const order = new Map(prevRanks.map((rank, index) => [rank.userId, index]));
+            changes.forEach((c) => order.set(c.userId, c.rank));
+            return prevRanks
+              .map((rank) => {
+                const change = changes.find((c) => c.userId === rank.userId);
+                return change ? { ...rank, killCnt: change.killCnt } : rank;
+              })
+              .sort((a, b) => (order.get(a.userId) ?? 0) - (order.get(b.userId) ?? 0));
+          });
+        },
+        header
+      );
       client.current?.subscribe(
         `/topic/games/${id}/dashboard`,
         (message) => {
@@ -76,9 +76,9 @@ export default function RoomList({ openDialog }: RoomListProps) {
   const [currentPage, setCurrentPage] = useState(1);
   const { totalPage, rooms } = roomPage;
 
-  const showRoomList = async () => {
+  const showRoomList = async (page: number) => {
     try {
-      const fetchedData = await getRoomlist();
+      const fetchedData = await getRoomlist(page);
       setRoomPage(fetchedData.data);
     } catch (error: any) {
       if (token === null) {
@@ -91,9 +91,9 @@ export default function RoomList({ openDialog }: RoomListProps) {
   };
 
   useEffect(() => {
-    showRoomList();
+    showRoomList(currentPage);
     // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, []);
+  }, [currentPage]);
 
   const handleClick = (index: number) => {
     if (index < rooms.length) {
@@ -101,8 +101,11 @@ export default function RoomList({ openDialog }: RoomListProps) {
     }
   };
   const clickReload = () => {
-    showRoomList();
-    setCurrentPage(1);
+    if (currentPage === 1) {
+      showRoomList(1);
+    } else {
+      setCurrentPage(1);
+    }
   };
   const clickRight = () => {
     if (currentPage < totalPage) {
@@ -149,8 +152,7 @@ export default function RoomList({ openDialog }: RoomListProps) {
       </ReloadBlock>
       <GridLayout $col={2} gap='2.4rem'>
         {roomBlocks.map((_, index) => {
-          const roomsIndex = index + (currentPage - 1) * ROOM_NUM_SINGLE_PAGE;
-          return RoomBlock(roomsIndex);
+          return RoomBlock(index);
         })}
       </GridLayout>
       <FlexLayout gap='8rem'>
@@ -1,7 +1,8 @@
 import { axiosInstance } from './base';
 
-export const getRoomlist = async () => {
+export const getRoomlist = async (page: number) => {
   const response = await axiosInstance.get(`/rooms/topic/lobby`, {
+    params: { page },
     headers: {
       'Content-Type': 'application/json',
     },
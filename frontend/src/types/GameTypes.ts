@@ -34,3 +34,14 @@ export type RankPlayersTypes = {
   color: string;
   killCnt: number;
 };
+
+export type StaminaDeltaTypes = {
+  userId: number;
+  stamina: number;
+};
+
+export type RankDeltaTypes = {
+  userId: number;
+  killCnt: number;
+  rank: number;
+};